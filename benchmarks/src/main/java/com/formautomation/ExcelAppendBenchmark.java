@@ -0,0 +1,97 @@
+package com.formautomation;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of appending one run's row to form_data.xlsx once the batch has already written many rows, on the
+ * load-and-rewrite path used when no stream is open (ExcelStreamBenchmark covers the streamed batch).
+ * Each measured append starts from a copy of the same pre-filled workbook, so the row count stays put.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ExcelAppendBenchmark {
+
+    private static final Path EXCEL_FILE = Paths.get("form_data.xlsx");
+    private static final String[] HEADERS = {
+            "tecsId", "firstName", "lastName", "dob", "passportNumber",
+            "passportIssueDate", "passportExpiryDate",
+            "driverLicense", "ssn", "aNumber", "height", "weight"
+    };
+
+    @Param({"1000", "10000", "100000"})
+    public int existingRows;
+
+    private Path template;
+    private PersonData personData;
+
+    @Setup(Level.Trial)
+    public void writeTemplate() throws Exception {
+        template = Files.createTempFile("form_data-" + existingRows + "-", ".xlsx");
+        // Streamed, so building the largest workbook does not dominate the trial
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100)) {
+            SXSSFSheet sheet = workbook.createSheet("Form Data");
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+            }
+            for (int rowNumber = 1; rowNumber <= existingRows; rowNumber++) {
+                PersonData data = DataGenerator.generatePersonData();
+                data.setTecsId("P3G" + String.format("%08d", rowNumber) + "AB");
+                Map<String, String> values = ExcelManager.toRowValues(data);
+                Row row = sheet.createRow(rowNumber);
+                for (int i = 0; i < HEADERS.length; i++) {
+                    row.createCell(i).setCellValue(values.getOrDefault(HEADERS[i], ""));
+                }
+            }
+            try (OutputStream output = Files.newOutputStream(template)) {
+                workbook.write(output);
+            }
+            workbook.dispose();
+        }
+        personData = DataGenerator.generatePersonData();
+    }
+
+    @Setup(Level.Iteration)
+    public void restoreWorkbook() throws IOException {
+        Files.copy(template, EXCEL_FILE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        Files.deleteIfExists(template);
+        Files.deleteIfExists(EXCEL_FILE);
+    }
+
+    @Benchmark
+    public int appendDataToExcel() {
+        return ExcelManager.appendDataToExcel(personData);
+    }
+}
@@ -0,0 +1,60 @@
+package com.formautomation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning PersonData into Excel column values, done for every append and TECS ID update.
+ * The direct mapping calls each getter by hand, as a baseline for what the reflection costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExcelRowMappingBenchmark {
+
+    private PersonData personData;
+
+    @Setup
+    public void generateData() {
+        personData = DataGenerator.generatePersonData();
+        personData.setTecsId("P3G12345678AB");
+    }
+
+    @Benchmark
+    public Map<String, String> reflectionMapping() throws ReflectiveOperationException {
+        return ExcelManager.toRowValues(personData);
+    }
+
+    @Benchmark
+    public Map<String, String> directMapping() {
+        Map<String, String> values = new HashMap<>();
+        values.put("tecsId", personData.getTecsId());
+        values.put("firstName", personData.getFirstName());
+        values.put("lastName", personData.getLastName());
+        values.put("dob", personData.getDob());
+        values.put("passportNumber", personData.getPassportNumber());
+        values.put("passportIssueDate", personData.getPassportIssueDate());
+        values.put("passportExpiryDate", personData.getPassportExpiryDate());
+        values.put("driverLicense", personData.getDriverLicense());
+        values.put("ssn", personData.getSsn());
+        values.put("aNumber", personData.getaNumber());
+        values.put("height", personData.getHeight());
+        values.put("weight", personData.getWeight());
+        return values;
+    }
+}
@@ -0,0 +1,88 @@
+package com.formautomation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing a whole batch to form_data.xlsx through ExcelStreamWriter, the path a batch takes:
+ * every run's row is appended as PENDING, updated with its TECS ID, and the file is written on close.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ExcelStreamBenchmark {
+
+    private static final String[] HEADERS = {
+            "tecsId", "firstName", "lastName", "dob", "passportNumber",
+            "passportIssueDate", "passportExpiryDate",
+            "driverLicense", "ssn", "aNumber", "height", "weight"
+    };
+    private static final int WINDOW_ROWS = 100; // The excel.windowRows default
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private String[][] pending;
+    private String[][] recorded;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void generateRows() throws Exception {
+        pending = new String[rows][];
+        recorded = new String[rows][];
+        for (int i = 0; i < rows; i++) {
+            PersonData data = DataGenerator.generatePersonData();
+            pending[i] = cells(data);
+            data.setTecsId("P3G" + String.format("%08d", i + 1) + "AB");
+            recorded[i] = cells(data);
+        }
+        file = Files.createTempFile("form_data-" + rows + "-", ".xlsx").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() {
+        file.delete();
+    }
+
+    @Benchmark
+    public long writeBatch() throws IOException {
+        file.delete();
+        ExcelStreamWriter writer = new ExcelStreamWriter(file, "Form Data", HEADERS, WINDOW_ROWS, false);
+        writer.open();
+        for (int i = 0; i < rows; i++) {
+            int rowNumber = writer.append(pending[i]);
+            writer.update(rowNumber, recorded[i]);
+        }
+        writer.close();
+        return file.length();
+    }
+
+    private static String[] cells(PersonData data) throws ReflectiveOperationException {
+        Map<String, String> values = ExcelManager.toRowValues(data);
+        String[] cells = new String[HEADERS.length];
+        for (int i = 0; i < HEADERS.length; i++) {
+            cells[i] = values.getOrDefault(HEADERS[i], "");
+        }
+        return cells;
+    }
+}
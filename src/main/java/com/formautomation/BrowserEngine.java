@@ -0,0 +1,107 @@
+package com.formautomation;
+
+import java.util.function.Function;
+
+/**
+ * Browser operations the form filler needs, independent of the library driving the browser.
+ * Waits are named after the form step they guard, so timeouts stay calibrated per step through WaitEngine.
+ * Selectors use Playwright syntax: "id=...", "xpath=..." or a plain CSS selector.
+ */
+public interface BrowserEngine {
+
+    void navigate(String url);
+
+    String getCurrentUrl();
+
+    String getTitle();
+
+    /**
+     * Run a JavaScript function body in the page
+     * @param script Body ending in a return statement, reading its arguments from arguments[n]; a returned Promise is awaited
+     * @return The script's result; whole numbers come back as Long, lists as List
+     */
+    Object executeScript(String script, Object... args);
+
+    /**
+     * Wait for the first visible, enabled element matching any of the selectors and click it
+     * @throws RuntimeException if no element becomes clickable within the step's timeout
+     */
+    void click(String step, String... selectors);
+
+    /**
+     * Wait for an input to be visible, clear it and type the text key by key
+     * @throws RuntimeException if the input does not become visible within the step's timeout
+     */
+    void type(String step, String selector, String text);
+
+    /**
+     * Wait until a script returns a truthy value
+     * @return true if the script became truthy within the step's timeout
+     */
+    boolean waitForScript(String step, String script, Object... args);
+
+    /**
+     * Wait until the document has loaded and Angular has settled
+     */
+    boolean waitForPageReady(String step);
+
+    /**
+     * Wait until Angular has no pending requests or timers; pages without Angular count as stable
+     */
+    boolean waitForAngular(String step);
+
+    /**
+     * Wait until no Material select panel, dialog or backdrop is open
+     */
+    boolean waitForOverlaysClosed(String step);
+
+    /**
+     * Wait for a tab opened by the previous action and continue in it once it has loaded
+     * @return true if a new tab appeared and is now the active one
+     */
+    boolean switchToNewTab(String step);
+
+    /**
+     * Watch the network for responses to requests whose URL matches a regular expression.
+     * Start it before the action that sends the request, e.g. the form submit.
+     * @param urlPattern Regular expression searched for in the response URL; empty matches every response
+     * @param extractor Reads the wanted value from a successful response body, or returns null to keep waiting
+     */
+    ResponseCapture captureResponses(String urlPattern, Function<String, String> extractor);
+
+    /**
+     * Finish with this session
+     * @param failed true if the run failed, in which case the session is never reused
+     */
+    void release(boolean failed);
+
+    /**
+     * A value read from network responses by captureResponses
+     */
+    interface ResponseCapture {
+
+        /**
+         * Wait for the first response the extractor accepts
+         * @return The extracted value, or null if none arrived within the step's timeout
+         */
+        String await(String step);
+
+        /**
+         * Stop watching the network
+         */
+        void close();
+    }
+
+    /**
+     * Opens browser sessions for runs, one per run
+     */
+    interface Provider {
+
+        /**
+         * @return A session ready for a run, or null if no browser could be started
+         */
+        BrowserEngine open();
+
+        void shutdown();
+    }
+}
@@ -0,0 +1,127 @@
+package com.formautomation;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pauses all workers when most recent runs have failed, so a degraded target doesn't burn
+ * through browser sessions. After a cooldown a single trial run is let through; if it
+ * succeeds the breaker closes again, otherwise it stays open for another cooldown.
+ * Every run gets a permit number, so results of runs that started before the breaker last
+ * changed state can be told apart from the trial and ignored.
+ */
+public class CircuitBreaker {
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final double failureThreshold;
+    private final long cooldownMs;
+
+    private final Deque<Boolean> recentResults = new ArrayDeque<>();
+    private State state = State.CLOSED;
+    private long openUntil;
+    private long nextPermit = 1;
+    private long trialPermit;       // Permit of the trial run in flight, 0 if none
+    private long closedSincePermit; // Permits issued before the breaker last closed are stale
+    private int trips;
+
+    /**
+     * @param windowSize Number of recent runs the failure rate is computed over
+     * @param failureThreshold Failure rate (0-1) over a full window that opens the breaker
+     * @param cooldownMs How long workers are paused once the breaker opens
+     */
+    public CircuitBreaker(int windowSize, double failureThreshold, long cooldownMs) {
+        this.windowSize = Math.max(1, windowSize);
+        this.failureThreshold = failureThreshold;
+        this.cooldownMs = cooldownMs;
+    }
+
+    /**
+     * Block until a new run may start. While half-open only the trial run is let through.
+     * @return Permit to pass to recordResult when the run finishes
+     */
+    public synchronized long awaitPermission() throws InterruptedException {
+        while (true) {
+            if (state == State.CLOSED) {
+                return nextPermit++;
+            }
+            long now = System.currentTimeMillis();
+            if (state == State.OPEN && now >= openUntil) {
+                state = State.HALF_OPEN;
+                System.out.println("🔌 Circuit breaker half-open, sending a trial run");
+            }
+            if (state == State.HALF_OPEN && trialPermit == 0) {
+                trialPermit = nextPermit++;
+                return trialPermit;
+            }
+            wait(state == State.OPEN ? Math.max(1, openUntil - now) : 0);
+        }
+    }
+
+    /**
+     * Record the outcome of a finished run
+     * @param permit Permit the run was started with
+     * @param success true if the run succeeded
+     */
+    public synchronized void recordResult(long permit, boolean success) {
+        if (state == State.HALF_OPEN) {
+            if (permit != trialPermit) {
+                // Started before the breaker opened; only the trial run decides
+                return;
+            }
+            trialPermit = 0;
+            if (success) {
+                System.out.println("🔌 Trial run succeeded, circuit breaker closed");
+                state = State.CLOSED;
+                closedSincePermit = nextPermit;
+                recentResults.clear();
+            } else {
+                open("trial run failed");
+            }
+            notifyAll();
+            return;
+        }
+        if (state == State.OPEN) {
+            // Runs already in flight when the breaker opened don't change the cooldown
+            return;
+        }
+        if (permit < closedSincePermit) {
+            // Started before the trial closed the breaker, so it says nothing about the target now
+            return;
+        }
+
+        recentResults.addLast(success);
+        if (recentResults.size() > windowSize) {
+            recentResults.removeFirst();
+        }
+        if (recentResults.size() == windowSize && failureRate() >= failureThreshold) {
+            open(Math.round(failureRate() * 100) + "% of recent runs failed");
+        }
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openUntil = System.currentTimeMillis() + cooldownMs;
+        trips++;
+        System.out.println("🛑 Circuit breaker opened: " + reason + ", pausing workers for " + (cooldownMs / 1000) + "s");
+    }
+
+    private double failureRate() {
+        if (recentResults.isEmpty()) {
+            return 1.0;
+        }
+        int failures = 0;
+        for (Boolean result : recentResults) {
+            if (!result) failures++;
+        }
+        return (double) failures / recentResults.size();
+    }
+
+    /**
+     * Number of times the breaker has opened
+     */
+    public synchronized int getTrips() {
+        return trips;
+    }
+}
@@ -0,0 +1,110 @@
+package com.formautomation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catches the form controls an action adds to the page, such as the fields behind an "Add ..." button.
+ * A MutationObserver is registered before the click, so await() returns as soon as the new controls
+ * are attached, and their ids are known exactly instead of guessed from "newest on the page".
+ *
+ * ControlWatch added = ControlWatch.start(browser, "mat-select, input, textarea");
+ * if (clickButtonRobust(browser, "Add Citizenship")) {
+ *     added.await("Add Citizenship");
+ *     selectDropdownSimple(browser, added.newest("select"), "mat-option-1260");
+ * }
+ */
+public class ControlWatch {
+
+    private final BrowserEngine browser;
+    private final Object watchId;
+    private Map<?, ?> added = Collections.emptyMap();
+
+    private ControlWatch(BrowserEngine browser, Object watchId) {
+        this.browser = browser;
+        this.watchId = watchId;
+    }
+
+    /**
+     * Start watching for controls matching a CSS selector
+     */
+    public static ControlWatch start(BrowserEngine browser, String cssSelector) {
+        Object watchId = null;
+        try {
+            watchId = PageHelpers.call(browser, "watchControls", cssSelector);
+        } catch (Exception e) {
+            System.err.println("Could not start control watch: " + e.getMessage());
+        }
+        return new ControlWatch(browser, watchId);
+    }
+
+    /**
+     * Wait until the watched controls have been attached
+     * @param step Step name used for the timeout, e.g. "Add Passport"
+     * @return true if new controls appeared within the step's timeout
+     */
+    public boolean await(String step) {
+        long timeout = WaitEngine.timeoutFor(step).toMillis();
+        long start = System.currentTimeMillis();
+        Object result = null;
+        if (watchId != null) {
+            try {
+                result = PageHelpers.call(browser, "awaitControls", watchId, timeout);
+            } catch (Exception e) {
+                System.err.println("Error waiting for new controls after " + step + ": " + e.getMessage());
+            }
+        }
+
+        if (result instanceof Map && !Boolean.TRUE.equals(((Map<?, ?>) result).get("timedOut"))) {
+            added = (Map<?, ?>) result;
+            StepLatencyTracker.record(step, System.currentTimeMillis() - start);
+            return true;
+        }
+        StepLatencyTracker.recordTimeout(step);
+        System.out.println("⏱️ No new controls after " + step + ", falling back to the newest on the page");
+        return false;
+    }
+
+    /**
+     * Ids of the new controls of one kind, in page order
+     * @param kind "select", "text", "date" or "other"
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> ids(String kind) {
+        Object ids = added.get(kind);
+        return ids instanceof List ? (List<String>) ids : Collections.emptyList();
+    }
+
+    /**
+     * Id of the last new control of a kind, or the newest on the page if the watch saw none
+     * @param kind "select", "text" or "date"
+     */
+    public String newest(String kind) {
+        List<String> ids = ids(kind);
+        if (!ids.isEmpty()) {
+            return ids.get(ids.size() - 1);
+        }
+        return (String) PageHelpers.call(browser, "findNewest", kind);
+    }
+
+    /**
+     * FormSection target for the nth new control of a kind counted from the end, 1 being the last.
+     * Falls back to the nth such control on the whole page if the watch did not see enough of them.
+     * @param kind "select", "text" or "date"
+     */
+    public Map<String, Object> target(String kind, int position) {
+        List<String> ids = ids(kind);
+        if (ids.size() >= position) {
+            return FormSection.byId(ids.get(ids.size() - position));
+        }
+        switch (kind) {
+            case "select":
+                return FormSection.lastSelect(position);
+            case "date":
+                return FormSection.lastDate(position);
+            default:
+                return FormSection.lastText(position);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import jakarta.mail.*;
 import jakarta.mail.internet.*;
 import jakarta.activation.*;
 import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -126,4 +128,420 @@ public class EmailService {
         }
         return Integer.parseInt(emailConfig.getProperty("automation.loop.count", "1"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Get the configured number of concurrent browser workers
+     * @return number of runs to perform at the same time
+     */
+    public int getParallelism() {
+        if (emailConfig == null) {
+            return 1; // Default to sequential runs if config not loaded
+        }
+        return Math.max(1, Integer.parseInt(emailConfig.getProperty("automation.parallelism", "1").trim()));
+    }
+
+    /**
+     * Get the number of runs a browser session is reused for before it is replaced
+     * @return maximum runs per browser session
+     */
+    public int getMaxRunsPerSession() {
+        if (emailConfig == null) {
+            return 10;
+        }
+        return Math.max(1, Integer.parseInt(emailConfig.getProperty("automation.session.maxRuns", "10").trim()));
+    }
+
+    /**
+     * Get the default number of attempts for a failed form step
+     * @return attempts per step, including the first one
+     */
+    public int getRetryAttempts() {
+        if (emailConfig == null) {
+            return 3;
+        }
+        return Math.max(1, Integer.parseInt(emailConfig.getProperty("automation.retry.attempts", "3").trim()));
+    }
+
+    /**
+     * Get the base delay before retrying a failed form step
+     * @return delay in milliseconds, doubled on every further attempt
+     */
+    public long getRetryBaseDelayMs() {
+        if (emailConfig == null) {
+            return 250;
+        }
+        return Math.max(1, Long.parseLong(emailConfig.getProperty("automation.retry.baseDelayMs", "250").trim()));
+    }
+
+    /**
+     * Get the longest delay between two attempts of a form step
+     * @return delay in milliseconds
+     */
+    public long getRetryMaxDelayMs() {
+        if (emailConfig == null) {
+            return 4000;
+        }
+        return Math.max(1, Long.parseLong(emailConfig.getProperty("automation.retry.maxDelayMs", "4000").trim()));
+    }
+
+    /**
+     * Get per-step overrides of the retry attempts, configured as "step:attempts" pairs separated by commas
+     * @return attempts keyed by step name
+     */
+    public Map<String, Integer> getRetryStepAttempts() {
+        Map<String, Integer> attempts = new HashMap<>();
+        if (emailConfig == null) {
+            return attempts;
+        }
+        for (String entry : emailConfig.getProperty("automation.retry.steps", "").split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator > 0) {
+                attempts.put(entry.substring(0, separator).trim(),
+                        Math.max(1, Integer.parseInt(entry.substring(separator + 1).trim())));
+            }
+        }
+        return attempts;
+    }
+
+    /**
+     * Get the number of recent runs the circuit breaker looks at
+     * @return window size in runs
+     */
+    public int getBreakerWindow() {
+        if (emailConfig == null) {
+            return 10;
+        }
+        return Math.max(1, Integer.parseInt(emailConfig.getProperty("automation.breaker.window", "10").trim()));
+    }
+
+    /**
+     * Get the failure rate over the recent runs that pauses all workers
+     * @return failure rate between 0 and 1
+     */
+    public double getBreakerFailureRate() {
+        if (emailConfig == null) {
+            return 0.7;
+        }
+        return Double.parseDouble(emailConfig.getProperty("automation.breaker.failureRate", "0.7").trim());
+    }
+
+    /**
+     * Get how long workers stay paused once the circuit breaker opens
+     * @return cooldown in seconds
+     */
+    public int getBreakerCooldownSeconds() {
+        if (emailConfig == null) {
+            return 120;
+        }
+        return Math.max(1, Integer.parseInt(emailConfig.getProperty("automation.breaker.cooldownSeconds", "120").trim()));
+    }
+
+    /**
+     * Get the number of form submissions allowed per minute across all workers
+     * @return submissions per minute, 0 for no limit
+     */
+    public double getSubmissionsPerMinute() {
+        if (emailConfig == null) {
+            return 12;
+        }
+        return Math.max(0, Double.parseDouble(emailConfig.getProperty("automation.rate.submissionsPerMinute", "12").trim()));
+    }
+
+    /**
+     * Get the number of submissions that may go through back to back before the rate limit applies
+     * @return burst size
+     */
+    public int getSubmissionBurst() {
+        if (emailConfig == null) {
+            return 1;
+        }
+        return Math.max(1, Integer.parseInt(emailConfig.getProperty("automation.rate.burst", "1").trim()));
+    }
+
+    /**
+     * Get the number of successful forms per hour the worker count is scaled toward
+     * @return forms per hour, 0 to keep the configured parallelism fixed
+     */
+    public double getTargetFormsPerHour() {
+        if (emailConfig == null) {
+            return 0;
+        }
+        return Math.max(0, Double.parseDouble(emailConfig.getProperty("automation.scaling.targetFormsPerHour", "0").trim()));
+    }
+
+    /**
+     * Get the most browser workers the throughput target may scale up to
+     * @return maximum concurrent workers
+     */
+    public int getMaxWorkers() {
+        if (emailConfig == null) {
+            return 4;
+        }
+        return Math.max(1, Integer.parseInt(emailConfig.getProperty("automation.scaling.maxWorkers", "4").trim()));
+    }
+
+    /**
+     * Check whether browsers should use the headless batch profile instead of the interactive one
+     * @return true for the batch profile
+     */
+    public boolean isBatchBrowserProfile() {
+        if (emailConfig == null) {
+            return false; // Default to a visible browser if config not loaded
+        }
+        return "batch".equalsIgnoreCase(emailConfig.getProperty("automation.browser.profile", "interactive").trim());
+    }
+
+    /**
+     * Get the library used to drive the browser
+     * @return "selenium" or "playwright"
+     */
+    public String getBrowserEngine() {
+        if (emailConfig == null) {
+            return "selenium";
+        }
+        return emailConfig.getProperty("automation.browser.engine", "selenium").trim();
+    }
+
+    /**
+     * Get the viewport size used by the batch browser profile
+     * @return window size as "width,height"
+     */
+    public String getBatchWindowSize() {
+        if (emailConfig == null) {
+            return "1280,900";
+        }
+        return emailConfig.getProperty("automation.browser.windowSize", "1280,900").trim();
+    }
+
+    /**
+     * Get the local port the step metrics endpoint listens on
+     * @return port number, 0 to disable the endpoint
+     */
+    public int getMetricsPort() {
+        if (emailConfig == null) {
+            return 0;
+        }
+        return Math.max(0, Integer.parseInt(emailConfig.getProperty("automation.metrics.port", "0").trim()));
+    }
+
+    /**
+     * Check whether the TECS ID is read from the create request's network response
+     * @return true for "network" capture, false to read the confirmation page
+     */
+    public boolean isNetworkTecsCapture() {
+        if (emailConfig == null) {
+            return false;
+        }
+        return "network".equalsIgnoreCase(emailConfig.getProperty("automation.tecs.capture", "dom").trim());
+    }
+
+    /**
+     * Get the pattern identifying the create request whose response holds the TECS ID
+     * @return regular expression searched for in response URLs, empty to match every response
+     */
+    public String getTecsResponseUrl() {
+        if (emailConfig == null) {
+            return "";
+        }
+        return emailConfig.getProperty("automation.tecs.responseUrl", "").trim();
+    }
+
+    /**
+     * Get the JSON field holding the TECS ID in the create response
+     * @return field name, empty to look for any field named like tecsId
+     */
+    public String getTecsResponseField() {
+        if (emailConfig == null) {
+            return "";
+        }
+        return emailConfig.getProperty("automation.tecs.responseField", "").trim();
+    }
+
+    /**
+     * Check whether forms are submitted straight to the backend API instead of through the browser
+     * @return true for "http" mode, false for "browser" mode
+     */
+    public boolean isHttpSubmissionMode() {
+        if (emailConfig == null) {
+            return false;
+        }
+        return "http".equalsIgnoreCase(emailConfig.getProperty("automation.mode", "browser").trim());
+    }
+
+    /**
+     * Get the site root the HTTP submission mode talks to
+     * @return base URL
+     */
+    public String getHttpBaseUrl() {
+        if (emailConfig == null) {
+            return "https://sasq-sat.cbp.dhs.gov";
+        }
+        return emailConfig.getProperty("automation.http.baseUrl", "https://sasq-sat.cbp.dhs.gov").trim();
+    }
+
+    /**
+     * Get the path of the create request the form sends on submit
+     * @return path relative to the base URL, empty if not configured
+     */
+    public String getHttpSubmitPath() {
+        if (emailConfig == null) {
+            return "";
+        }
+        return emailConfig.getProperty("automation.http.submitPath", "").trim();
+    }
+
+    /**
+     * Get the Cookie header of a logged-in browser session for the HTTP submission mode
+     * @return cookie header value, empty for none
+     */
+    public String getHttpSessionCookie() {
+        if (emailConfig == null) {
+            return "";
+        }
+        return emailConfig.getProperty("automation.http.sessionCookie", "").trim();
+    }
+
+    /**
+     * Get the Authorization header sent with every request in the HTTP submission mode
+     * @return header value, empty for none
+     */
+    public String getHttpAuthorization() {
+        if (emailConfig == null) {
+            return "";
+        }
+        return emailConfig.getProperty("automation.http.authorization", "").trim();
+    }
+
+    /**
+     * Get how many submissions the HTTP submission mode keeps in flight at once
+     * @return number of concurrent requests
+     */
+    public int getHttpConcurrency() {
+        if (emailConfig == null) {
+            return 16;
+        }
+        return Math.max(1, Integer.parseInt(emailConfig.getProperty("automation.http.concurrency", "16").trim()));
+    }
+
+    /**
+     * Get the URL each browser run starts from
+     * @return person query page of the target site
+     */
+    public String getTargetUrl() {
+        if (emailConfig == null) {
+            return "https://sasq-sat.cbp.dhs.gov/person?query=person";
+        }
+        return emailConfig.getProperty("automation.targetUrl", "https://sasq-sat.cbp.dhs.gov/person?query=person").trim();
+    }
+
+    /**
+     * Get the local port of the stand-in form fixture, which replaces the target site when set
+     * @return port number, 0 to run against the target site
+     */
+    public int getFixturePort() {
+        if (emailConfig == null) {
+            return 0;
+        }
+        return Math.max(0, Integer.parseInt(emailConfig.getProperty("automation.fixture.port", "0").trim()));
+    }
+
+    /**
+     * Get the delay the form fixture adds to every request
+     * @return latency in milliseconds
+     */
+    public long getFixtureLatencyMs() {
+        if (emailConfig == null) {
+            return 150;
+        }
+        return Math.max(0, Long.parseLong(emailConfig.getProperty("automation.fixture.latencyMs", "150").trim()));
+    }
+
+    /**
+     * Get the random extra delay the form fixture adds on top of its latency
+     * @return maximum jitter in milliseconds
+     */
+    public long getFixtureJitterMs() {
+        if (emailConfig == null) {
+            return 0;
+        }
+        return Math.max(0, Long.parseLong(emailConfig.getProperty("automation.fixture.jitterMs", "0").trim()));
+    }
+
+    /**
+     * Get how long the form fixture takes to show an opened dropdown or an added section
+     * @return delay in milliseconds
+     */
+    public long getFixtureRenderDelayMs() {
+        if (emailConfig == null) {
+            return 50;
+        }
+        return Math.max(0, Long.parseLong(emailConfig.getProperty("automation.fixture.renderDelayMs", "50").trim()));
+    }
+
+    /**
+     * Get how many measured runs the throughput benchmark performs
+     * @return number of runs
+     */
+    public int getBenchmarkRuns() {
+        if (emailConfig == null) {
+            return 20;
+        }
+        return Math.max(1, Integer.parseInt(emailConfig.getProperty("benchmark.runs", "20").trim()));
+    }
+
+    /**
+     * Get how many runs the throughput benchmark performs before measuring, to warm up sessions and the JIT
+     * @return number of warm-up runs
+     */
+    public int getBenchmarkWarmupRuns() {
+        if (emailConfig == null) {
+            return 2;
+        }
+        return Math.max(0, Integer.parseInt(emailConfig.getProperty("benchmark.warmupRuns", "2").trim()));
+    }
+
+    /**
+     * Get how many runs the throughput benchmark performs at the same time
+     * @return number of concurrent runs, automation.parallelism when not set
+     */
+    public int getBenchmarkConcurrency() {
+        String concurrency = emailConfig != null ? emailConfig.getProperty("benchmark.concurrency", "").trim() : "";
+        if (concurrency.isEmpty()) {
+            return getParallelism();
+        }
+        return Math.max(1, Integer.parseInt(concurrency));
+    }
+
+    /**
+     * Get the file the throughput benchmark writes its results to
+     * @return file name
+     */
+    public String getBenchmarkOutput() {
+        if (emailConfig == null) {
+            return "benchmark-results.json";
+        }
+        return emailConfig.getProperty("benchmark.output", "benchmark-results.json").trim();
+    }
+
+    /**
+     * Get how many rows the streaming Excel writer keeps in memory before flushing them to disk
+     * @return row window size
+     */
+    public int getExcelWindowRows() {
+        if (emailConfig == null) {
+            return 100;
+        }
+        return Math.max(1, Integer.parseInt(emailConfig.getProperty("excel.windowRows", "100").trim()));
+    }
+
+    /**
+     * Get how often a complete copy of the Excel file is written while a batch runs
+     * @return seconds between snapshots, 0 to write the file only at the end of the batch
+     */
+    public long getExcelSnapshotSeconds() {
+        if (emailConfig == null) {
+            return 0;
+        }
+        return Math.max(0, Long.parseLong(emailConfig.getProperty("excel.snapshotSeconds", "0").trim()));
+    }
+}
@@ -10,8 +10,13 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,89 +25,189 @@ import java.util.Map;
 public class ExcelManager {
 
     private static final String EXCEL_FILE_NAME = "form_data.xlsx";
+    private static final String[] HEADERS = {
+            "tecsId", "firstName", "lastName", "dob", "passportNumber",
+            "passportIssueDate", "passportExpiryDate",
+            "driverLicense", "ssn", "aNumber", "height", "weight"
+    };
+    private static final int MAX_COLUMN_WIDTH = 255 * 256; // Excel's limit
     private static int currentRowNumber = 1; // Track which row we're working on
+    private static ExcelStreamWriter stream; // Open for the length of a batch, null otherwise
+    private static boolean streamClosed; // Set once the batch's stream is written, so late rows can't rewrite the file
+    private static long snapshotIntervalMs;
+    private static long lastSnapshotAt;
 
     /**
-     * Save the generated person data to an Excel file (initial save without TECS ID)
-     * Only used for the FIRST run
-     * @param personData The data to save
+     * Start the batch's Excel file as a stream, so appends and TECS ID updates no longer reload the file.
+     * Rows of a resumed batch are rebuilt from its journal, which holds every run's data and row number,
+     * so rows that had not reached the file before the crash are not lost.
+     * @param windowRows Rows kept in memory before flushing to disk
+     * @param secondsPerSnapshot Seconds between complete copies of the file written during the batch, 0 for none
+     * @param recovered Journal state of the batch being resumed, empty for a fresh batch
      */
-    public static void saveDataToExcel(PersonData personData) {
+    public static synchronized void openStream(int windowRows, long secondsPerSnapshot,
+                                               Collection<RunJournal.RecoveredRun> recovered) {
+        stream = new ExcelStreamWriter(new File(EXCEL_FILE_NAME), "Form Data", HEADERS, windowRows, secondsPerSnapshot > 0);
+        streamClosed = false;
+        snapshotIntervalMs = secondsPerSnapshot * 1000;
+        lastSnapshotAt = System.currentTimeMillis();
         try {
-            XSSFWorkbook workbook = new XSSFWorkbook();
-            XSSFSheet sheet = workbook.createSheet("Form Data");
-
-            // Create header row - TECS ID as first column
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {
-                    "tecsId", "firstName", "lastName", "dob", "passportNumber",
-                    "passportIssueDate", "passportExpiryDate",
-                    "driverLicense", "ssn", "aNumber", "height", "weight"
-            };
+            stream.open();
+        } catch (IOException e) {
+            System.out.println("❌ Error opening the " + EXCEL_FILE_NAME + " stream, writing rows to the file directly: " + e.getMessage());
+            stream = null;
+            initializeWorkbook();
+            return;
+        }
 
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
+        List<RunContext> persisted = new ArrayList<>();
+        Map<Integer, RunJournal.State> states = new HashMap<>();
+        for (RunJournal.RecoveredRun recoveredRun : recovered) {
+            RunContext run = recoveredRun.toRunContext();
+            if (run.getRowNumber() > 0 && run.getPersonData() != null) {
+                persisted.add(run);
+                states.put(run.getRowNumber(), recoveredRun.getState());
             }
-
-            // Create data row for first run
-            currentRowNumber = 1; // First data row
-            Row dataRow = sheet.createRow(currentRowNumber);
-
-            // Use reflection to get all getter methods from PersonData
-            Map<String, String> dataMap = new HashMap<>();
-            Method[] methods = PersonData.class.getDeclaredMethods();
-            for (Method method : methods) {
-                if (method.getName().startsWith("get") && !method.getName().equals("getClass")) {
-                    String fieldName = method.getName().substring(3, 4).toLowerCase() + method.getName().substring(4);
-
-                    // Special case for aNumber since its getter is getaNumber() not getANumber()
-                    if (method.getName().equals("getaNumber")) {
-                        fieldName = "aNumber";
-                    }
-
-                    Object value = method.invoke(personData);
-                    if (value != null) {
-                        dataMap.put(fieldName, value.toString());
-                    }
+        }
+        persisted.sort(Comparator.comparingInt(RunContext::getRowNumber));
+        try {
+            for (RunContext run : persisted) {
+                RunJournal.State state = states.get(run.getRowNumber());
+                PersonData personData = run.getPersonData();
+                if (state == RunJournal.State.RECORDED && isBlank(personData.getTecsId())) {
+                    personData.setTecsId("NOT_CAPTURED");
                 }
+                // Recorded and failed rows are final; the rest are updated when their runs finish
+                boolean complete = state == RunJournal.State.RECORDED || state == RunJournal.State.FAILED;
+                stream.put(run.getRowNumber(), rowCells(personData), complete);
             }
+            currentRowNumber = persisted.isEmpty() ? 0 : persisted.get(persisted.size() - 1).getRowNumber();
+            System.out.println("✅ Streaming " + EXCEL_FILE_NAME + (persisted.isEmpty() ? " from the header row"
+                    : " with " + persisted.size() + " row(s) restored from the run journal"));
+        } catch (ReflectiveOperationException | IOException e) {
+            System.out.println("❌ Error restoring Excel rows: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
 
-            // Fill in the data row with proper order
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = dataRow.createCell(i);
-                String value = dataMap.getOrDefault(headers[i], "");
-                if (headers[i].equals("tecsId") && (value == null || value.trim().isEmpty())) {
-                    value = "PENDING"; // Placeholder until TECS ID is captured
-                }
-                cell.setCellValue(value);
-            }
+    /**
+     * Write every row of the stream to the Excel file and close it. Rows of runs that never finished stay
+     * PENDING, and results arriving afterwards are left to the run journal rather than rewriting the file.
+     */
+    public static synchronized void closeStream() {
+        if (stream == null) {
+            return;
+        }
+        try {
+            stream.close();
+            System.out.println("✅ " + EXCEL_FILE_NAME + " written with " + currentRowNumber + " data row(s)");
+        } catch (IOException e) {
+            System.out.println("❌ Error writing " + EXCEL_FILE_NAME + ": " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            stream = null;
+            streamClosed = true;
+        }
+    }
+
+    /**
+     * Write a finished run's complete row, TECS ID included, into the stream, or straight into the file
+     * when no stream could be opened. The file itself is written when the stream closes; until then a
+     * crash is covered by the run journal alone.
+     * @param personData The complete data including TECS ID
+     * @param rowNumber The row returned by appendDataToExcel for this run
+     */
+    public static synchronized void writeResult(PersonData personData, int rowNumber) {
+        if (streamClosed) {
+            System.out.println("⚠️ " + EXCEL_FILE_NAME + " already written, row " + rowNumber + " is left to the run journal");
+            return;
+        }
+        updateExcelWithTecsId(personData, rowNumber);
+        snapshotIfDue();
+    }
+
+    /**
+     * Let the row of a run that will not be recorded be written with its PENDING placeholder
+     * @param rowNumber The row returned by appendDataToExcel for the run
+     */
+    public static synchronized void releaseRow(int rowNumber) {
+        if (stream == null || rowNumber <= 0) {
+            return;
+        }
+        try {
+            stream.release(rowNumber);
+        } catch (IOException e) {
+            System.out.println("❌ Error releasing Excel row " + rowNumber + ": " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Write a complete copy of the file so far if snapshots are enabled and one is due.
+     * Called after every result, and periodically so a quiet batch still gets its snapshot.
+     */
+    public static synchronized void snapshotIfDue() {
+        if (stream == null || snapshotIntervalMs <= 0 || System.currentTimeMillis() - lastSnapshotAt < snapshotIntervalMs) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lastSnapshotAt = start;
+        try {
+            stream.snapshot();
+        } catch (IOException e) {
+            System.out.println("❌ Error writing an " + EXCEL_FILE_NAME + " snapshot: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            StepMetrics.record("Excel snapshot", System.currentTimeMillis() - start);
+        }
+    }
 
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
+    /**
+     * Create a fresh Excel file containing only the header row, so a batch that can't stream
+     * appends its rows to an empty file rather than the previous batch's
+     */
+    private static void initializeWorkbook() {
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            XSSFSheet sheet = workbook.createSheet("Form Data");
+
+            Row headerRow = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                Cell cell = headerRow.createCell(i);
+                cell.setCellValue(HEADERS[i]);
             }
+            widenColumns(sheet, headerRow);
 
-            // Write to file
             try (FileOutputStream outputStream = new FileOutputStream(EXCEL_FILE_NAME)) {
                 workbook.write(outputStream);
             }
 
-            workbook.close();
-            System.out.println("✅ Initial data saved to " + EXCEL_FILE_NAME + " at row " + currentRowNumber);
+            currentRowNumber = 0;
+            System.out.println("✅ Fresh " + EXCEL_FILE_NAME + " created with header row");
 
         } catch (Exception e) {
-            System.out.println("❌ Error saving initial data to Excel: " + e.getMessage());
+            System.out.println("❌ Error creating Excel file: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
     /**
-     * FIXED: Update the Excel file with TECS ID for the CURRENT ROW being processed
+     * Update the Excel file with TECS ID for a specific row.
+     * Used by parallel runs, where the last appended row may belong to another run.
      * @param personData The complete data including TECS ID
+     * @param rowNumber The row returned by appendDataToExcel for this run
      */
-    public static void updateExcelWithTecsId(PersonData personData) {
+    public static synchronized void updateExcelWithTecsId(PersonData personData, int rowNumber) {
+        long start = System.currentTimeMillis();
         try {
+            if (stream != null) {
+                if (stream.update(rowNumber, rowCells(personData))) {
+                    System.out.println("✅ Excel row " + rowNumber + " updated with TECS ID: " + personData.getTecsId());
+                } else {
+                    System.out.println("❌ No open data row found at row " + rowNumber);
+                }
+                return;
+            }
+
             File excelFile = new File(EXCEL_FILE_NAME);
             XSSFWorkbook workbook;
             XSSFSheet sheet;
@@ -118,52 +223,28 @@ public class ExcelManager {
                 return;
             }
 
-            // FIXED: Update the CURRENT row, not always row 1
-            Row dataRow = sheet.getRow(currentRowNumber);
+            // FIXED: Update the row for this run, not always row 1
+            Row dataRow = sheet.getRow(rowNumber);
             if (dataRow == null) {
-                System.out.println("❌ No data row found at row " + currentRowNumber);
+                System.out.println("❌ No data row found at row " + rowNumber);
                 return;
             }
 
             // Get data using reflection
-            Map<String, String> dataMap = new HashMap<>();
-            Method[] methods = PersonData.class.getDeclaredMethods();
-            for (Method method : methods) {
-                if (method.getName().startsWith("get") && !method.getName().equals("getClass")) {
-                    String fieldName = method.getName().substring(3, 4).toLowerCase() + method.getName().substring(4);
-
-                    // Special case for aNumber
-                    if (method.getName().equals("getaNumber")) {
-                        fieldName = "aNumber";
-                    }
-
-                    Object value = method.invoke(personData);
-                    if (value != null) {
-                        dataMap.put(fieldName, value.toString());
-                    }
-                }
-            }
+            Map<String, String> dataMap = toRowValues(personData);
 
             // Update all columns with current data
-            String[] headers = {
-                    "tecsId", "firstName", "lastName", "dob", "passportNumber",
-                    "passportIssueDate", "passportExpiryDate",
-                    "driverLicense", "ssn", "aNumber", "height", "weight"
-            };
-
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < HEADERS.length; i++) {
                 Cell cell = dataRow.getCell(i);
                 if (cell == null) {
                     cell = dataRow.createCell(i);
                 }
-                String value = dataMap.getOrDefault(headers[i], "");
+                String value = dataMap.getOrDefault(HEADERS[i], "");
                 cell.setCellValue(value);
             }
 
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
+            // Widen columns to fit the new values
+            widenColumns(sheet, dataRow);
 
             // Write to file
             try (FileOutputStream outputStream = new FileOutputStream(EXCEL_FILE_NAME)) {
@@ -171,21 +252,35 @@ public class ExcelManager {
             }
 
             workbook.close();
-            System.out.println("✅ Excel row " + currentRowNumber + " updated with TECS ID: " + personData.getTecsId());
+            System.out.println("✅ Excel row " + rowNumber + " updated with TECS ID: " + personData.getTecsId());
 
         } catch (Exception e) {
             System.out.println("❌ Error updating Excel with TECS ID: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            StepMetrics.record("Excel TECS ID update", System.currentTimeMillis() - start);
         }
     }
 
     /**
      * FIXED: Add a new row of data to existing Excel file (for runs 2+)
-     * This now sets the currentRowNumber so updateExcelWithTecsId knows which row to update
+     * While a stream is open the row is only added to it; otherwise the whole file is loaded and rewritten.
      * @param personData The data to add
+     * @return The row number the data was written to, or -1 on failure
      */
-    public static void appendDataToExcel(PersonData personData) {
+    public static synchronized int appendDataToExcel(PersonData personData) {
+        if (streamClosed) {
+            System.out.println("⚠️ " + EXCEL_FILE_NAME + " already written, no row appended");
+            return -1;
+        }
+        long start = System.currentTimeMillis();
         try {
+            if (stream != null) {
+                currentRowNumber = stream.append(rowCells(personData));
+                System.out.println("✅ New data row appended to " + EXCEL_FILE_NAME + " at row " + currentRowNumber);
+                return currentRowNumber;
+            }
+
             File excelFile = new File(EXCEL_FILE_NAME);
             XSSFWorkbook workbook;
             XSSFSheet sheet;
@@ -203,15 +298,9 @@ public class ExcelManager {
 
                 // Create header row
                 Row headerRow = sheet.createRow(0);
-                String[] headers = {
-                        "tecsId", "firstName", "lastName", "dob", "passportNumber",
-                        "passportIssueDate", "passportExpiryDate",
-                        "driverLicense", "ssn", "aNumber", "height", "weight"
-                };
-
-                for (int i = 0; i < headers.length; i++) {
+                for (int i = 0; i < HEADERS.length; i++) {
                     Cell cell = headerRow.createCell(i);
-                    cell.setCellValue(headers[i]);
+                    cell.setCellValue(HEADERS[i]);
                 }
             }
 
@@ -220,43 +309,21 @@ public class ExcelManager {
             Row dataRow = sheet.createRow(currentRowNumber);
 
             // Get data using reflection
-            Map<String, String> dataMap = new HashMap<>();
-            Method[] methods = PersonData.class.getDeclaredMethods();
-            for (Method method : methods) {
-                if (method.getName().startsWith("get") && !method.getName().equals("getClass")) {
-                    String fieldName = method.getName().substring(3, 4).toLowerCase() + method.getName().substring(4);
-
-                    if (method.getName().equals("getaNumber")) {
-                        fieldName = "aNumber";
-                    }
-
-                    Object value = method.invoke(personData);
-                    if (value != null) {
-                        dataMap.put(fieldName, value.toString());
-                    }
-                }
-            }
+            Map<String, String> dataMap = toRowValues(personData);
 
             // Fill data row
-            String[] headers = {
-                    "tecsId", "firstName", "lastName", "dob", "passportNumber",
-                    "passportIssueDate", "passportExpiryDate",
-                    "driverLicense", "ssn", "aNumber", "height", "weight"
-            };
-
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < HEADERS.length; i++) {
                 Cell cell = dataRow.createCell(i);
-                String value = dataMap.getOrDefault(headers[i], "");
-                if (headers[i].equals("tecsId") && (value == null || value.trim().isEmpty())) {
+                String value = dataMap.getOrDefault(HEADERS[i], "");
+                if (HEADERS[i].equals("tecsId") && (value == null || value.trim().isEmpty())) {
                     value = "PENDING"; // Placeholder until TECS ID is captured
                 }
                 cell.setCellValue(value);
             }
 
-            // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
+            // Widen columns to fit the new values
+            widenColumns(sheet, sheet.getRow(0));
+            widenColumns(sheet, dataRow);
 
             // Write to file
             try (FileOutputStream outputStream = new FileOutputStream(EXCEL_FILE_NAME)) {
@@ -265,25 +332,88 @@ public class ExcelManager {
 
             workbook.close();
             System.out.println("✅ New data row appended to " + EXCEL_FILE_NAME + " at row " + currentRowNumber);
+            return currentRowNumber;
 
         } catch (Exception e) {
             System.out.println("❌ Error appending data to Excel: " + e.getMessage());
             e.printStackTrace();
+            return -1;
+        } finally {
+            StepMetrics.record("Excel append", System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Map every getter of PersonData to its column name, e.g. getFirstName() to "firstName"
+     * @param personData The data to map
+     * @return Non-null values by column name
+     */
+    static Map<String, String> toRowValues(PersonData personData) throws ReflectiveOperationException {
+        Map<String, String> dataMap = new HashMap<>();
+        Method[] methods = PersonData.class.getDeclaredMethods();
+        for (Method method : methods) {
+            if (method.getName().startsWith("get") && !method.getName().equals("getClass")) {
+                String fieldName = method.getName().substring(3, 4).toLowerCase() + method.getName().substring(4);
+
+                // Special case for aNumber since its getter is getaNumber() not getANumber()
+                if (method.getName().equals("getaNumber")) {
+                    fieldName = "aNumber";
+                }
+
+                Object value = method.invoke(personData);
+                if (value != null) {
+                    dataMap.put(fieldName, value.toString());
+                }
+            }
         }
+        return dataMap;
     }
 
     /**
-     * Reset the row counter (for testing or if you want to start fresh)
+     * Values of a data row in header order, with a placeholder for a TECS ID not captured yet
      */
-    public static void resetRowCounter() {
-        currentRowNumber = 1;
-        System.out.println("🔄 Row counter reset to 1");
+    private static String[] rowCells(PersonData personData) throws ReflectiveOperationException {
+        Map<String, String> dataMap = toRowValues(personData);
+        String[] cells = new String[HEADERS.length];
+        for (int i = 0; i < HEADERS.length; i++) {
+            String value = dataMap.getOrDefault(HEADERS[i], "");
+            if (HEADERS[i].equals("tecsId") && isBlank(value)) {
+                value = "PENDING"; // Placeholder until TECS ID is captured
+            }
+            cells[i] = value;
+        }
+        return cells;
     }
 
     /**
-     * Get the current row number being processed
+     * Column width that fits a value, in 1/256ths of a character as POI expects, with a little padding
      */
-    public static int getCurrentRowNumber() {
-        return currentRowNumber;
+    static int columnWidth(String value) {
+        int characters = value == null ? 0 : value.length();
+        return Math.min(MAX_COLUMN_WIDTH, (characters + 2) * 256);
     }
+
+    /**
+     * Widen each column to fit a row's value if it does not already. The widths saved in the file are the
+     * running maxima of everything written, so only the new row needs measuring.
+     */
+    private static void widenColumns(Sheet sheet, Row row) {
+        if (row == null) {
+            return;
+        }
+        for (int i = 0; i < HEADERS.length; i++) {
+            Cell cell = row.getCell(i);
+            if (cell != null) {
+                int width = columnWidth(cell.getStringCellValue());
+                if (width > sheet.getColumnWidth(i)) {
+                    sheet.setColumnWidth(i, width);
+                }
+            }
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
 }
\ No newline at end of file
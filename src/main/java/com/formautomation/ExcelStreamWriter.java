@@ -0,0 +1,261 @@
+package com.formautomation;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Long-lived streaming writer for one batch's Excel file. Rows are appended to an SXSSFWorkbook that keeps
+ * only a window of rows in memory and flushes the rest to a temp file, so each append costs the same at row
+ * 100,000 as at row 1. The xlsx itself is written when the batch ends, and at snapshots only if they are enabled.
+ *
+ * A flushed row can no longer change, but a row only gets its TECS ID after its run is submitted. Appended
+ * rows are therefore kept open until their run is recorded or released, and rows go to the sheet in order
+ * once every row before them is final; the open rows are bounded by the runs in flight.
+ */
+public class ExcelStreamWriter {
+
+    private final File file;
+    private final String sheetName;
+    private final String[] headers;
+    private final int windowRows;
+    private final int[] columnWidths; // Widest value written per column so far
+
+    private final boolean snapshots;
+
+    private final TreeMap<Integer, OpenRow> openRows = new TreeMap<>();
+    private SXSSFWorkbook workbook;
+    private Sheet sheet;
+    private File spillFile; // Final rows in the order they went to the sheet, read back by snapshots
+    private DataOutputStream spill;
+    private int nextRow = 1;
+    private boolean changedSinceSnapshot;
+
+    /**
+     * @param file Excel file to write
+     * @param sheetName Name of the single sheet
+     * @param headers Column headers, written as row 0
+     * @param windowRows Rows kept in memory before flushing to the temp file
+     * @param snapshots true to allow snapshot(), which also keeps every final row in a second temp file
+     */
+    public ExcelStreamWriter(File file, String sheetName, String[] headers, int windowRows, boolean snapshots) {
+        this.file = file;
+        this.sheetName = sheetName;
+        this.headers = headers;
+        this.windowRows = Math.max(1, windowRows);
+        this.columnWidths = new int[headers.length];
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Start an empty sheet with only the header row
+     */
+    public void open() throws IOException {
+        workbook = new SXSSFWorkbook(windowRows);
+        sheet = workbook.createSheet(sheetName);
+        fill(sheet.createRow(0), headers);
+        if (snapshots) {
+            spillFile = File.createTempFile("excel-rows", ".bin");
+            spill = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile)));
+        }
+    }
+
+    /**
+     * Add a row at the next free row number. It stays open until updated or released.
+     * @param cells Values in header order
+     * @return The row number
+     */
+    public int append(String[] cells) throws IOException {
+        int rowNumber = nextRow;
+        put(rowNumber, cells, false);
+        return rowNumber;
+    }
+
+    /**
+     * Add a row at a given row number, used to rebuild the rows of a resumed batch in their original order
+     * @param rowNumber Row number, above every row added so far
+     * @param cells Values in header order
+     * @param complete true if the row is final, false to keep it open for an update
+     */
+    public void put(int rowNumber, String[] cells, boolean complete) throws IOException {
+        if (rowNumber < nextRow) {
+            throw new IllegalArgumentException("Row " + rowNumber + " is before the next free row " + nextRow);
+        }
+        openRows.put(rowNumber, new OpenRow(cells, complete));
+        nextRow = rowNumber + 1;
+        changedSinceSnapshot = true;
+        drain();
+    }
+
+    /**
+     * Replace the values of a row and mark it final
+     * @return false if the row was never added or is already final
+     */
+    public boolean update(int rowNumber, String[] cells) throws IOException {
+        OpenRow open = openRows.get(rowNumber);
+        if (open == null) {
+            return false;
+        }
+        open.cells = cells;
+        open.complete = true;
+        changedSinceSnapshot = true;
+        drain();
+        return true;
+    }
+
+    /**
+     * Mark a row final with the values it was added with, e.g. the PENDING row of a failed run
+     */
+    public void release(int rowNumber) throws IOException {
+        OpenRow open = openRows.get(rowNumber);
+        if (open != null) {
+            open.complete = true;
+            drain();
+        }
+    }
+
+    /**
+     * Write every row, including any still open, to the file and free the temp files
+     */
+    public void close() throws IOException {
+        if (workbook == null) {
+            return;
+        }
+        try {
+            for (Map.Entry<Integer, OpenRow> open : openRows.entrySet()) {
+                fill(sheet.createRow(open.getKey()), open.getValue().cells);
+            }
+            openRows.clear();
+            writeFile(workbook, sheet);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+            workbook = null;
+            if (spill != null) {
+                spill.close();
+                Files.deleteIfExists(spillFile.toPath());
+                spill = null;
+            }
+        }
+    }
+
+    /**
+     * Move the final rows at the start of the open rows into the sheet
+     */
+    private void drain() throws IOException {
+        while (!openRows.isEmpty() && openRows.firstEntry().getValue().complete) {
+            Map.Entry<Integer, OpenRow> first = openRows.pollFirstEntry();
+            fill(sheet.createRow(first.getKey()), first.getValue().cells);
+            if (spill != null) {
+                writeSpilled(first.getKey(), first.getValue().cells);
+            }
+        }
+    }
+
+    /**
+     * Write a complete copy of the file so far, open rows as they are, without touching the stream.
+     * Rows the stream has already flushed can't be read back, so the copy is built from the spill file
+     * in a workbook of its own; memory stays at one window, but every snapshot rewrites every row.
+     */
+    public void snapshot() throws IOException {
+        if (spill == null || !changedSinceSnapshot) {
+            return;
+        }
+        changedSinceSnapshot = false;
+        spill.flush();
+        SXSSFWorkbook copy = new SXSSFWorkbook(windowRows);
+        try (DataInputStream rows = new DataInputStream(new BufferedInputStream(new FileInputStream(spillFile)))) {
+            Sheet copySheet = copy.createSheet(sheetName);
+            fill(copySheet.createRow(0), headers);
+            int written = 0;
+            try {
+                while (true) {
+                    int rowNumber = rows.readInt();
+                    fill(copySheet.createRow(rowNumber), readSpilled(rows));
+                    written++;
+                }
+            } catch (EOFException e) {
+                // End of the rows drained so far
+            }
+            // Every open row comes after the drained ones
+            for (Map.Entry<Integer, OpenRow> open : openRows.entrySet()) {
+                fill(copySheet.createRow(open.getKey()), open.getValue().cells);
+            }
+            writeFile(copy, copySheet);
+            System.out.println("💾 Excel snapshot written with " + (written + openRows.size()) + " data row(s)");
+        } finally {
+            copy.dispose();
+            copy.close();
+        }
+    }
+
+    private void writeSpilled(int rowNumber, String[] cells) throws IOException {
+        spill.writeInt(rowNumber);
+        spill.writeInt(cells.length);
+        for (String cell : cells) {
+            spill.writeBoolean(cell != null);
+            if (cell != null) {
+                spill.writeUTF(cell);
+            }
+        }
+    }
+
+    private static String[] readSpilled(DataInputStream rows) throws IOException {
+        String[] cells = new String[rows.readInt()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = rows.readBoolean() ? rows.readUTF() : null;
+        }
+        return cells;
+    }
+
+    /**
+     * Write to a temp file next to the target and move it into place, so a crash never leaves a torn xlsx
+     */
+    private void writeFile(SXSSFWorkbook target, Sheet targetSheet) throws IOException {
+        // Widths are tracked as rows are filled; SXSSF could only auto-size from the rows still in memory
+        for (int i = 0; i < columnWidths.length; i++) {
+            targetSheet.setColumnWidth(i, columnWidths[i]);
+        }
+        File temp = new File(file.getAbsoluteFile().getParentFile(), file.getName() + ".tmp");
+        try (FileOutputStream outputStream = new FileOutputStream(temp)) {
+            target.write(outputStream);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void fill(Row row, String[] cells) {
+        for (int i = 0; i < cells.length; i++) {
+            Cell cell = row.getCell(i);
+            if (cell == null) {
+                cell = row.createCell(i);
+            }
+            cell.setCellValue(cells[i]);
+            columnWidths[i] = Math.max(columnWidths[i], ExcelManager.columnWidth(cells[i]));
+        }
+    }
+
+    private static class OpenRow {
+        private String[] cells;
+        private boolean complete;
+
+        OpenRow(String[] cells, boolean complete) {
+            this.cells = cells;
+            this.complete = complete;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.formautomation;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the lookout site, so the whole FormFiller path can be run, timed and regression-tested
+ * without network access. Serves both form pages from the fixture resources: the person query with its login
+ * and search, and the lookout form with the same select and option ids, "Add ..." sections and a confirmation
+ * showing a TECS ID. Every request is delayed by the configured latency, and panels and sections render after
+ * the configured delay, so waits behave as they do against the real site.
+ */
+public class FixtureServer {
+
+    private static final String RESOURCE_DIR = "fixture/";
+    private static final String PERSON_PATH = "/person?query=person";
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final long renderDelayMs;
+    private final AtomicInteger submissions = new AtomicInteger();
+    private final Random random = new Random();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * @param latencyMs Delay added to every request
+     * @param jitterMs Up to this much extra delay, picked at random per request
+     * @param renderDelayMs Delay before an opened panel or added section shows up in the page
+     */
+    public FixtureServer(long latencyMs, long jitterMs, long renderDelayMs) {
+        this.latencyMs = Math.max(0, latencyMs);
+        this.jitterMs = Math.max(0, jitterMs);
+        this.renderDelayMs = Math.max(0, renderDelayMs);
+    }
+
+    /**
+     * Serve the fixture on localhost
+     * @param port Port to listen on, 0 for any free port
+     * @return true if the server is running
+     */
+    public synchronized boolean start(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            page("/", "person.html");
+            page("/person", "person.html");
+            page("/lookout", "lookout.html");
+            asset("/material.js", "application/javascript");
+            asset("/person.js", "application/javascript");
+            asset("/lookout.js", "application/javascript");
+            asset("/fixture.css", "text/css");
+            server.createContext("/api/search", exchange -> respond(exchange, 200, "application/json", "{\"records\":[]}"));
+            server.createContext("/api/lookouts", exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                String tecsId = nextTecsId();
+                submissions.incrementAndGet();
+                respond(exchange, 201, "application/json", "{\"tecsId\":\"" + tecsId + "\"}");
+            });
+
+            // Requests sleep for the latency, so each needs its own thread to overlap like on a real server
+            executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "fixture-server");
+                thread.setDaemon(true);
+                return thread;
+            });
+            server.setExecutor(executor);
+            server.start();
+            System.out.println("🧪 Local form fixture at " + getBaseUrl() + " (" + latencyMs + "ms latency, "
+                    + renderDelayMs + "ms render delay)");
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ Could not start form fixture on port " + port + ": " + e.getMessage());
+            server = null;
+            return false;
+        }
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * @return Root URL of the running server, e.g. http://127.0.0.1:8089
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return URL of the first form page, where a run starts
+     */
+    public String getStartUrl() {
+        return getBaseUrl() + PERSON_PATH;
+    }
+
+    /**
+     * @return Number of lookouts created so far
+     */
+    public int getSubmissions() {
+        return submissions.get();
+    }
+
+    private void page(String path, String resource) {
+        String html = read(resource).replace("{{RENDER_DELAY_MS}}", String.valueOf(renderDelayMs));
+        server.createContext(path, exchange -> {
+            // Contexts match by prefix; only the exact path is a page
+            if (!exchange.getRequestURI().getPath().equals(path)) {
+                respond(exchange, 404, "text/plain", "Not found");
+                return;
+            }
+            respond(exchange, 200, "text/html; charset=utf-8", html);
+        });
+    }
+
+    private void asset(String path, String contentType) {
+        String content = read(path.substring(1));
+        server.createContext(path, exchange -> respond(exchange, 200, contentType + "; charset=utf-8", content));
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * TECS ID in the format the P3G pattern and TecsIdResponse accept, e.g. P3G12345678AB
+     */
+    private synchronized String nextTecsId() {
+        StringBuilder id = new StringBuilder("P3G");
+        for (int i = 0; i < 8; i++) {
+            id.append(random.nextInt(10));
+        }
+        for (int i = 0; i < 2; i++) {
+            id.append((char) ('A' + random.nextInt(26)));
+        }
+        return id.toString();
+    }
+
+    private static String read(String resource) {
+        try (InputStream input = FixtureServer.class.getResourceAsStream(RESOURCE_DIR + resource)) {
+            if (input == null) {
+                throw new IllegalStateException("Fixture resource " + resource + " is missing from the classpath");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read fixture resource " + resource, e);
+        }
+    }
+
+    /**
+     * Serve the fixture on its own, to point a browser or the automation at it by hand
+     * @param args Port, latency and render delay in ms; defaults 8089, 150 and 50
+     */
+    public static void main(String[] args) {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        long latency = args.length > 1 ? Long.parseLong(args[1]) : 150;
+        long renderDelay = args.length > 2 ? Long.parseLong(args[2]) : 50;
+        FixtureServer fixture = new FixtureServer(latency, 0, renderDelay);
+        if (fixture.start(port)) {
+            System.out.println("Open " + fixture.getStartUrl());
+        }
+    }
+}
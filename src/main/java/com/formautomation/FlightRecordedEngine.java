@@ -0,0 +1,136 @@
+package com.formautomation;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Wraps a BrowserEngine so every step it performs is recorded as a Flight Recorder StepEvent, and every
+ * script it runs as a ScriptEvent. When no recording is running the events are disabled and cost next to nothing.
+ */
+public class FlightRecordedEngine implements BrowserEngine {
+
+    private final BrowserEngine delegate;
+
+    private FlightRecordedEngine(BrowserEngine delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * @return The engine wrapped for recording, or null if there is no engine
+     */
+    public static BrowserEngine wrap(BrowserEngine engine) {
+        return engine == null ? null : new FlightRecordedEngine(engine);
+    }
+
+    @Override
+    public void navigate(String url) {
+        StepEvent event = StepEvent.start("Navigate", url);
+        String outcome = "error";
+        try {
+            delegate.navigate(url);
+            outcome = "ok";
+        } finally {
+            event.finish(outcome);
+        }
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return delegate.getCurrentUrl();
+    }
+
+    @Override
+    public String getTitle() {
+        return delegate.getTitle();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        // Nearly every script is a PageHelpers call, so the helper function and its target tell them apart.
+        // Scripts polled inside waits are recorded by the engines, under the wait's step
+        String function = PageHelpers.functionName(script, args);
+        ScriptEvent event = function != null
+                ? ScriptEvent.start(function, PageHelpers.describeTarget(args), script)
+                : ScriptEvent.start("script", null, script);
+        Throwable error = null;
+        try {
+            return delegate.executeScript(script, args);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            event.finish(error);
+        }
+    }
+
+    @Override
+    public void click(String step, String... selectors) {
+        StepEvent event = StepEvent.start(step, String.join(" | ", selectors));
+        String outcome = "error";
+        try {
+            delegate.click(step, selectors);
+            outcome = "ok";
+        } finally {
+            event.finish(outcome);
+        }
+    }
+
+    @Override
+    public void type(String step, String selector, String text) {
+        StepEvent event = StepEvent.start(step, selector);
+        String outcome = "error";
+        try {
+            delegate.type(step, selector, text);
+            outcome = "ok";
+        } finally {
+            event.finish(outcome);
+        }
+    }
+
+    @Override
+    public boolean waitForScript(String step, String script, Object... args) {
+        return record(step, ScriptEvent.selectorOf(args), () -> delegate.waitForScript(step, script, args));
+    }
+
+    @Override
+    public boolean waitForPageReady(String step) {
+        return record(step, null, () -> delegate.waitForPageReady(step));
+    }
+
+    @Override
+    public boolean waitForAngular(String step) {
+        return record(step + " angular", null, () -> delegate.waitForAngular(step));
+    }
+
+    @Override
+    public boolean waitForOverlaysClosed(String step) {
+        return record(step, null, () -> delegate.waitForOverlaysClosed(step));
+    }
+
+    @Override
+    public boolean switchToNewTab(String step) {
+        return record(step, null, () -> delegate.switchToNewTab(step));
+    }
+
+    @Override
+    public ResponseCapture captureResponses(String urlPattern, Function<String, String> extractor) {
+        return delegate.captureResponses(urlPattern, extractor);
+    }
+
+    @Override
+    public void release(boolean failed) {
+        delegate.release(failed);
+    }
+
+    private static boolean record(String step, String selector, Supplier<Boolean> wait) {
+        StepEvent event = StepEvent.start(step, selector);
+        String outcome = "error";
+        try {
+            boolean met = wait.get();
+            outcome = met ? "ok" : "timeout";
+            return met;
+        } finally {
+            event.finish(outcome);
+        }
+    }
+}
@@ -3,45 +3,219 @@ package com.formautomation;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.JavascriptExecutor;
+
+import java.io.IOException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
 
 public class FormAutomation {
+
+    // Step timed from submission until the confirmation shows; the throughput controller watches its latency
+    static final String TECS_CONFIRMATION_STEP = "TECS ID confirmation";
+    // Step timed from submission until the create response arrives, when the TECS ID is read from the network
+    static final String TECS_RESPONSE_STEP = "TECS ID response";
+    // Written instead of a TECS ID when an HTTP create request timed out: the record may or may not exist
+    static final String UNCONFIRMED_TECS_ID = "UNCONFIRMED";
+
+    // Page extraction strategies below this confidence guess at any ID-like text, so their IDs are never recorded
+    private static final double MIN_PAGE_CONFIDENCE = 0.6;
+    // Only the TECS ID patterns once the network capture has come back empty
+    private static final double MIN_PAGE_CONFIDENCE_AFTER_NETWORK = 0.85;
+
+    // Lean profile for unattended batches: none of the extensions, GPU, sync or background networking
+    // a desktop Chrome brings, to keep memory and CPU per session low enough to run many sessions on one box
+    private static final List<String> BATCH_BROWSER_ARGUMENTS = Arrays.asList(
+            "--disable-gpu",
+            "--disable-extensions",
+            "--disable-component-extensions-with-background-pages",
+            "--disable-sync",
+            "--disable-background-networking",
+            "--disable-background-timer-throttling",
+            "--disable-default-apps",
+            "--disable-component-update",
+            "--disable-domain-reliability",
+            "--disable-client-side-phishing-detection",
+            "--disable-features=Translate,OptimizationHints,MediaRouter",
+            "--metrics-recording-only",
+            "--mute-audio",
+            "--no-first-run",
+            "--blink-settings=imagesEnabled=false"
+    );
+
+    // Opens the browser session for each run, shared by all workers
+    private static BrowserEngine.Provider browsers;
+    private static RunJournal journal;
+    private static boolean batchBrowser;
+    private static String batchWindowSize;
+
+    // Read the TECS ID from the create response instead of the confirmation page
+    private static boolean networkTecsCapture;
+    private static String tecsResponseUrl;
+    private static String tecsResponseField;
+
+    // Set in http mode, where records are posted to the backend instead of filled in a browser
+    private static HttpSubmitter httpSubmitter;
+
+    // Page every browser run starts from, the local fixture when one is running
+    private static String targetUrl;
+
     public static void main(String[] args) {
         System.out.println("Starting form automation with email notification...");
 
         // Initialize email service
         EmailService emailService = new EmailService();
         int totalRuns = emailService.getLoopCount();
-        int successfulRuns = 0;
+        boolean httpMode = emailService.isHttpSubmissionMode();
+        // Without a browser per worker, a worker costs little more than its request in flight
+        int parallelism = httpMode ? emailService.getHttpConcurrency() : emailService.getParallelism();
+
+        // With a throughput target the worker count is adjusted during the batch, up to the configured maximum
+        ThroughputController throughputController = null;
+        int workerThreads = parallelism;
+        if (emailService.getTargetFormsPerHour() > 0) {
+            workerThreads = Math.max(parallelism, emailService.getMaxWorkers());
+            // Judge latency by the wait that follows every submission in this mode
+            String submitLatencyStep = httpMode ? HttpSubmitter.SUBMIT_STEP
+                    : emailService.isNetworkTecsCapture() ? TECS_RESPONSE_STEP : TECS_CONFIRMATION_STEP;
+            throughputController = new ThroughputController(emailService.getTargetFormsPerHour(), parallelism, workerThreads,
+                    submitLatencyStep);
+        }
 
-        System.out.println("📋 Configured to run " + totalRuns + " times");
+        System.out.println("📋 Configured to run " + totalRuns + " times with " + parallelism + " parallel worker(s)");
+        if (throughputController != null) {
+            System.out.println("🎯 Targeting " + Math.round(throughputController.getTargetPerHour()) + " forms/hour with up to " + workerThreads + " worker(s)");
+        }
 
         // Print diagnostic information before starting
         BrowserDiagnostics.printDiagnosticInfo();
 
-        // Loop through the specified number of runs
-        for (int currentRun = 1; currentRun <= totalRuns; currentRun++) {
-            System.out.println("\n" + "=".repeat(50));
-            System.out.println("🚀 STARTING RUN " + currentRun + " of " + totalRuns);
-            System.out.println("=".repeat(50));
+        // Start from the step latencies observed in previous batches
+        StepLatencyTracker.load();
+        if (emailService.getMetricsPort() > 0) {
+            StepMetrics.startServer(emailService.getMetricsPort());
+        }
 
-            boolean runSuccess = performSingleRun(currentRun);
+        // Pick up where an interrupted batch left off, if there is one
+        journal = new RunJournal();
+        Map<Integer, RunJournal.RecoveredRun> recovered = journal.recover();
+        boolean resuming = !recovered.isEmpty();
 
-            if (runSuccess) {
-                successfulRuns++;
-                System.out.println("✅ RUN " + currentRun + " COMPLETED SUCCESSFULLY");
-            } else {
-                System.out.println("❌ RUN " + currentRun + " FAILED");
+        Map<Integer, Boolean> results = new TreeMap<>();
+        List<RunContext> pendingRuns = new ArrayList<>();
+        List<RunContext> unrecordedRuns = new ArrayList<>();
+        planRuns(totalRuns, recovered, results, pendingRuns, unrecordedRuns);
+
+        if (resuming) {
+            System.out.println("♻️ Resuming interrupted batch: " + results.size() + " run(s) already finished, "
+                    + unrecordedRuns.size() + " to record, " + pendingRuns.size() + " to run");
+        }
+
+        try {
+            journal.open(!resuming, totalRuns);
+        } catch (IOException e) {
+            System.err.println("❌ Could not open run journal, stopping: " + e.getMessage());
+            return;
+        }
+
+        // Stand in for the target site when benchmarking or testing offline
+        targetUrl = emailService.getTargetUrl();
+        FixtureServer fixture = null;
+        if (emailService.getFixturePort() > 0) {
+            fixture = new FixtureServer(emailService.getFixtureLatencyMs(), emailService.getFixtureJitterMs(),
+                    emailService.getFixtureRenderDelayMs());
+            if (!fixture.start(emailService.getFixturePort())) {
+                journal.close();
+                return;
             }
+            targetUrl = fixture.getStartUrl();
+        }
 
-            // Wait between runs (except for the last run)
-            if (currentRun < totalRuns) {
-                System.out.println("⏳ Waiting 5 seconds before next run...");
+        // Stream the Excel file for the whole batch, rebuilding the rows of an interrupted one from its journal
+        ExcelManager.openStream(emailService.getExcelWindowRows(), emailService.getExcelSnapshotSeconds(),
+                recovered.values());
+        // The streamed rows are written out even if the batch is stopped with Ctrl+C
+        Runtime.getRuntime().addShutdownHook(new Thread(ExcelManager::closeStream, "excel-close"));
+        // Data generation and Excel writes run on their own pipeline threads,
+        // keeping a couple of runs ready per browser worker
+        RunPipeline pipeline = new RunPipeline(pendingRuns, workerThreads * 2, journal);
+        pipeline.start();
+
+        if (httpMode) {
+            httpSubmitter = createHttpSubmitter(emailService, fixture != null ? fixture.getBaseUrl() : emailService.getHttpBaseUrl());
+            if (httpSubmitter == null) {
+                pipeline.finish();
+                ExcelManager.closeStream();
+                journal.close();
+                if (fixture != null) {
+                    fixture.stop();
+                }
+                return;
+            }
+        } else {
+            // Run the browser stage across the worker pool, reusing browser sessions between runs
+            configureBrowsers(emailService);
+        }
+        RetryPolicy.configure(emailService);
+        if (emailService.getSubmissionsPerMinute() > 0) {
+            FormFiller.setSubmitRateLimiter(new RateLimiter(emailService.getSubmissionsPerMinute(), emailService.getSubmissionBurst()));
+        }
+        CircuitBreaker circuitBreaker = new CircuitBreaker(emailService.getBreakerWindow(),
+                emailService.getBreakerFailureRate(), emailService.getBreakerCooldownSeconds() * 1000L);
+        ParallelRunExecutor executor = new ParallelRunExecutor(workerThreads, circuitBreaker, throughputController);
+        List<Integer> runNumbers = new ArrayList<>();
+        for (RunContext run : pendingRuns) {
+            runNumbers.add(run.getRunNumber());
+        }
+        try {
+            // Runs submitted before the crash only need their TECS ID written to Excel
+            for (RunContext run : unrecordedRuns) {
+                pipeline.record(run);
+            }
+
+            results.putAll(executor.execute(runNumbers, runNumber -> {
+                RunContext run;
+                try {
+                    run = pipeline.awaitReady(runNumber);
+                } catch (Exception e) {
+                    System.out.println("❌ Run " + runNumber + " could not be prepared: " + e.getMessage());
+                    return false;
+                }
+                boolean success = httpMode ? performHttpRun(run) : performSingleRun(run);
                 try {
-                    Thread.sleep(5000);
+                    pipeline.record(run);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 }
+                return success;
+            }));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pipeline.finish();
+            ExcelManager.closeStream();
+            if (results.size() == totalRuns) {
+                journal.markBatchComplete();
+            }
+            journal.close();
+            shutdownBrowsers();
+            StepLatencyTracker.save();
+            StepMetrics.writeJson();
+            StepMetrics.stopServer();
+            if (fixture != null) {
+                fixture.stop();
+            }
+        }
+
+        int successfulRuns = 0;
+        for (Map.Entry<Integer, Boolean> result : results.entrySet()) {
+            if (result.getValue()) {
+                successfulRuns++;
             }
         }
 
@@ -52,6 +226,16 @@ public class FormAutomation {
         System.out.println("Total Runs: " + totalRuns);
         System.out.println("Successful Runs: " + successfulRuns);
         System.out.println("Failed Runs: " + (totalRuns - successfulRuns));
+        System.out.println("Parallel Workers: " + executor.getParallelism());
+        if (throughputController != null) {
+            System.out.println("Settled Concurrency: " + throughputController.getConcurrency()
+                    + " (peak " + throughputController.getPeakConcurrency() + ")");
+        }
+        System.out.println("Circuit Breaker Trips: " + circuitBreaker.getTrips());
+        for (Map.Entry<Integer, Boolean> result : results.entrySet()) {
+            System.out.println("  Run " + result.getKey() + ": " + (result.getValue() ? "✅ SUCCESS" : "❌ FAILED"));
+        }
+        StepLatencyTracker.printSummary();
         System.out.println("=".repeat(50));
 
         // Send email with results
@@ -71,88 +255,166 @@ public class FormAutomation {
     }
 
     /**
-     * Perform a single automation run
-     * @param runNumber Current run number
-     * @return true if successful, false if failed
+     * Set up what performSingleRun needs without running a batch, for the throughput benchmark
+     * @param startUrl Page each run starts from
+     * @param runJournal Journal the runs record their progress in
      */
-    private static boolean performSingleRun(int runNumber) {
-        // Generate random person data
-        PersonData personData = DataGenerator.generatePersonData();
-
-        // For first run, save to Excel (create new file)
-        // For subsequent runs, append to existing Excel
-        if (runNumber == 1) {
-            ExcelManager.saveDataToExcel(personData);
-        } else {
-            ExcelManager.appendDataToExcel(personData);
+    static void prepareBrowserRuns(EmailService emailService, String startUrl, RunJournal runJournal) {
+        targetUrl = startUrl;
+        journal = runJournal;
+        configureBrowsers(emailService);
+    }
+
+    /**
+     * Close every browser session opened for the runs
+     */
+    static void shutdownBrowsers() {
+        if (browsers != null) {
+            browsers.shutdown();
+            browsers = null;
         }
+    }
 
-        // Setup the WebDriver
-        WebDriver driver = setupDriver();
+    /**
+     * Read the browser settings and create the provider every browser run opens its session from
+     */
+    private static void configureBrowsers(EmailService emailService) {
+        batchBrowser = emailService.isBatchBrowserProfile();
+        batchWindowSize = emailService.getBatchWindowSize();
+        System.out.println("🖥️ Using " + (batchBrowser ? "headless batch" : "interactive") + " browser profile");
+        browsers = createBrowserProvider(emailService);
+        networkTecsCapture = emailService.isNetworkTecsCapture();
+        tecsResponseUrl = emailService.getTecsResponseUrl();
+        tecsResponseField = emailService.getTecsResponseField();
+        if (networkTecsCapture) {
+            System.out.println("📡 Capturing TECS IDs from the create request's network response");
+        }
+    }
+
+    /**
+     * Sort the runs of a batch by what is left to do, based on the journal of an interrupted batch
+     * @param totalRuns Number of runs in the batch
+     * @param recovered Journal state per run, empty for a fresh batch
+     * @param results Receives the outcome of runs that already finished
+     * @param pendingRuns Receives runs that still need the browser, with any data generated before the crash
+     * @param unrecordedRuns Receives runs that were submitted but whose result never reached Excel
+     */
+    private static void planRuns(int totalRuns, Map<Integer, RunJournal.RecoveredRun> recovered,
+                                 Map<Integer, Boolean> results, List<RunContext> pendingRuns,
+                                 List<RunContext> unrecordedRuns) {
+        for (int runNumber = 1; runNumber <= totalRuns; runNumber++) {
+            RunJournal.RecoveredRun previous = recovered.get(runNumber);
+            if (previous == null || previous.getState() == null) {
+                pendingRuns.add(new RunContext(runNumber));
+                continue;
+            }
 
-        if (driver == null) {
-            System.out.println("Failed to initialize WebDriver for run " + runNumber);
+            switch (previous.getState()) {
+                case RECORDED:
+                    results.put(runNumber, true);
+                    break;
+                case FAILED:
+                    results.put(runNumber, false);
+                    break;
+                case SUBMITTED:
+                case TECS_CAPTURED:
+                    // Never resubmit a form the site already accepted
+                    unrecordedRuns.add(previous.toRunContext());
+                    results.put(runNumber, true);
+                    break;
+                default:
+                    pendingRuns.add(previous.toRunContext());
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Perform the browser part of a single automation run: fill both pages and capture the TECS ID.
+     * Data generation and Excel writes happen in the RunPipeline stages around this.
+     * @param run Run with generated and persisted data
+     * @return true if successful, false if failed
+     */
+    static boolean performSingleRun(RunContext run) {
+        int runNumber = run.getRunNumber();
+        PersonData personData = run.getPersonData();
+
+        RunEvent runEvent = new RunEvent();
+        runEvent.runNumber = runNumber;
+        runEvent.begin();
+
+        // Open a browser session for this run
+        long runStart = System.currentTimeMillis();
+        BrowserEngine browser = FlightRecordedEngine.wrap(browsers.open());
+        StepMetrics.record("Browser session open", System.currentTimeMillis() - runStart);
+        boolean runSucceeded = false;
+        BrowserEngine.ResponseCapture tecsResponse = null;
+
+        if (browser == null) {
+            System.out.println("Failed to initialize browser for run " + runNumber);
+            runEvent.outcome = "no browser session";
+            runEvent.commit();
             return false;
         }
+        runEvent.outcome = "error";
 
         try {
-            // Print WebDriver info
-            BrowserDiagnostics.printWebDriverInfo(driver);
-
             // Navigate to the website - using a properly formatted URL with protocol
             System.out.println("Navigating to the website...");
 
-            // First, let's make sure the browser is working by going to Google
-            System.out.println("Testing navigation with Google...");
-            driver.get("https://www.google.com");
-            System.out.println("Successfully loaded Google. Now navigating to target site...");
-
-            // Wait a bit longer to make sure Google fully loads
-            Thread.sleep(5000);
-
-            // Now try to navigate to the actual site (replace with your actual URL)
-            String targetUrl = "https://sasq-sat.cbp.dhs.gov/person?query=person"; // Your target URL
             System.out.println("Navigating to: " + targetUrl);
-            driver.get(targetUrl);
+            browser.navigate(targetUrl);
             System.out.println("Navigation initiated. Waiting for page to load...");
 
-            // Wait longer for the page to load - increased from 8 to 15 seconds
-            Thread.sleep(15000);
+            // Wait until the page has loaded and Angular has settled
+            browser.waitForPageReady("Target page load");
 
             // Print current URL to diagnose navigation issues
-            System.out.println("Current URL: " + driver.getCurrentUrl());
-            System.out.println("Page title: " + driver.getTitle());
+            System.out.println("Current URL: " + browser.getCurrentUrl());
+            System.out.println("Page title: " + browser.getTitle());
 
             // Fill out the first page
-            boolean firstPageSuccess = FormFiller.fillFirstPage(driver, personData);
+            long pageStart = System.currentTimeMillis();
+            boolean firstPageSuccess = FormFiller.fillFirstPage(browser, personData);
+            StepMetrics.record("First page", System.currentTimeMillis() - pageStart);
 
             if (firstPageSuccess) {
                 // Wait for second page to load
-                Thread.sleep(5000);
+                browser.waitForPageReady("Second page load");
+
+                // Start listening before the second page submits the form
+                if (networkTecsCapture) {
+                    tecsResponse = browser.captureResponses(tecsResponseUrl, TecsIdResponse.extractor(tecsResponseField));
+                }
 
                 // Fill out the second page
-                boolean secondPageSuccess = FormFiller.fillSecondPage(driver, personData);
+                pageStart = System.currentTimeMillis();
+                boolean secondPageSuccess = FormFiller.fillSecondPage(browser, personData);
+                StepMetrics.record("Second page", System.currentTimeMillis() - pageStart);
 
                 if (secondPageSuccess) {
                     System.out.println("✅ Second page completed successfully for run " + runNumber + "!");
+                    run.setSubmitted(true);
+                    journal.append(run, RunJournal.State.SUBMITTED);
 
-                    // Wait a moment for any post-submission processing
-                    Thread.sleep(3000);
-
-                    // Capture TECS ID from the page
-                    String tecsId = captureTecsId(driver);
-
-                    // Update PersonData and Excel with TECS ID
-                    updatePersonDataWithTecsId(personData, tecsId);
+                    // Capture TECS ID from the response or the page; the record stage writes it to Excel
+                    long captureStart = System.currentTimeMillis();
+                    personData.setTecsId(captureTecsId(browser, tecsResponse));
+                    StepMetrics.record("TECS ID capture", System.currentTimeMillis() - captureStart);
+                    journal.append(run, RunJournal.State.TECS_CAPTURED);
 
                     System.out.println("✅ Run " + runNumber + " completed successfully with TECS ID capture!");
+                    runSucceeded = true;
+                    runEvent.outcome = personData.getTecsId() != null ? "succeeded" : "succeeded without TECS ID";
                     return true;
                 } else {
                     System.out.println("❌ Failed to complete the second page for run " + runNumber + ".");
+                    runEvent.outcome = "second page failed";
                     return false;
                 }
             } else {
                 System.out.println("❌ Failed to complete the first page for run " + runNumber + ". Stopping.");
+                runEvent.outcome = "first page failed";
                 return false;
             }
         } catch (Exception e) {
@@ -160,161 +422,153 @@ public class FormAutomation {
             e.printStackTrace();
             return false;
         } finally {
-            // Keep the browser open for a moment before closing
-            try {
-                System.out.println("Run " + runNumber + " complete. Keeping browser open for 5 seconds for review...");
-                Thread.sleep(5000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            if (tecsResponse != null) {
+                tecsResponse.close();
             }
-
-            // Close the browser
-            driver.quit();
-            System.out.println("Browser closed for run " + runNumber + ". Moving to next run or completion.");
+            // Hand the session back; failed sessions are never reused
+            browser.release(!runSucceeded);
+            StepMetrics.record(runSucceeded ? "Run succeeded" : "Run failed", System.currentTimeMillis() - runStart);
+            runEvent.commit();
+            System.out.println("Browser released for run " + runNumber + ". Moving to next run or completion.");
         }
     }
 
     /**
-     * Capture TECS ID from the page after form submission
-     * @param driver WebDriver instance
-     * @return TECS ID string or null if not found
+     * Perform a single run without a browser: post the record to the create endpoint and read the TECS ID
+     * from the response. Data generation and Excel writes happen in the RunPipeline stages around this.
+     * @param run Run with generated and persisted data
+     * @return true if the record was accepted, false if failed or unconfirmed because the create request timed out
      */
-    private static String captureTecsId(WebDriver driver) {
-        try {
-            System.out.println("🔍 Attempting to capture TECS ID from page...");
+    static boolean performHttpRun(RunContext run) {
+        int runNumber = run.getRunNumber();
+        PersonData personData = run.getPersonData();
 
-            // Wait a bit for the page to load completely after submission
-            Thread.sleep(5000);
+        RunEvent runEvent = new RunEvent();
+        runEvent.runNumber = runNumber;
+        runEvent.begin();
+        runEvent.outcome = "error";
+        long runStart = System.currentTimeMillis();
+        boolean runSucceeded = false;
 
-            JavascriptExecutor js = (JavascriptExecutor) driver;
+        try {
+            FormFiller.awaitSubmitSlot();
+            String tecsId = httpSubmitter.submitAsync(personData).get();
+            run.setSubmitted(true);
+            journal.append(run, RunJournal.State.SUBMITTED);
+
+            personData.setTecsId(tecsId);
+            journal.append(run, RunJournal.State.TECS_CAPTURED);
+            if (tecsId != null) {
+                System.out.println("✅ Run " + runNumber + " accepted with TECS ID " + tecsId);
+            } else {
+                System.out.println("⚠️ Run " + runNumber + " accepted, but the response holds no TECS ID");
+            }
+            runSucceeded = true;
+            runEvent.outcome = tecsId != null ? "succeeded" : "succeeded without TECS ID";
+            return true;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HttpTimeoutException && !(e.getCause() instanceof HttpConnectTimeoutException)) {
+                // The server may have created the record without answering in time; never post it twice.
+                // The row is kept as submitted with its ID unknown, but the run counts as failed everywhere,
+                // so a slow server makes the breaker and throughput controller back off
+                System.out.println("⚠️ Run " + runNumber + " timed out waiting for the create response, recording it as "
+                        + UNCONFIRMED_TECS_ID);
+                run.setSubmitted(true);
+                journal.append(run, RunJournal.State.SUBMITTED);
+                personData.setTecsId(UNCONFIRMED_TECS_ID);
+                journal.append(run, RunJournal.State.TECS_CAPTURED);
+                runEvent.outcome = "unconfirmed";
+                return false;
+            }
+            System.out.println("❌ Run " + runNumber + " was not accepted: " + e.getCause().getMessage());
+            runEvent.outcome = "rejected";
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            StepMetrics.record(runSucceeded ? "Run succeeded" : "Run failed", System.currentTimeMillis() - runStart);
+            runEvent.commit();
+        }
+    }
 
-            // Try multiple strategies to find TECS ID
-            String tecsId = null;
+    /**
+     * Capture TECS ID after form submission, from the create response when network capture is on
+     * @param browser Browser session showing the confirmation
+     * @param response Capture started before the submit, or null to read the page
+     * @return TECS ID string or null if not found
+     */
+    private static String captureTecsId(BrowserEngine browser, BrowserEngine.ResponseCapture response) {
+        if (response == null) {
+            return captureTecsIdFromPage(browser, MIN_PAGE_CONFIDENCE);
+        }
+        String tecsId = response.await(TECS_RESPONSE_STEP);
+        if (tecsId != null) {
+            System.out.println("✅ TECS ID captured from the create response: " + tecsId);
+            return tecsId;
+        }
+        // Only trust the page patterns that can't mistake other text for an ID
+        System.out.println("⚠️ No TECS ID in the network responses, reading the confirmation page");
+        return captureTecsIdFromPage(browser, MIN_PAGE_CONFIDENCE_AFTER_NETWORK);
+    }
 
-            // Strategy 1: Look for "TECS ID:" followed by the actual ID (MOST SPECIFIC)
-            tecsId = (String) js.executeScript(
-                    "var elements = document.querySelectorAll('*');" +
-                            "for (var i = 0; i < elements.length; i++) {" +
-                            "  var text = elements[i].textContent || elements[i].innerText || '';" +
-                            "  var match = text.match(/TECS\\s+ID\\s*:\\s*([A-Z0-9]{10,20})/i);" +
-                            "  if (match && match[1]) {" +
-                            "    console.log('Found TECS ID via Strategy 1 (TECS ID:):', match[1]);" +
-                            "    return match[1];" +
-                            "  }" +
-                            "}" +
-                            "return null;"
-            );
+    /**
+     * Capture TECS ID from the page after form submission. One async script waits for the
+     * confirmation and extracts the ID as soon as it renders, trying every pattern on a single
+     * read of the page text and keeping the most specific match.
+     * @param browser Browser session showing the confirmation
+     * @param minConfidence Lowest extraction confidence to accept, from 0 to 1
+     * @return TECS ID string or null if not found
+     */
+    private static String captureTecsIdFromPage(BrowserEngine browser, double minConfidence) {
+        try {
+            System.out.println("🔍 Attempting to capture TECS ID from page...");
 
-            if (tecsId != null && !tecsId.trim().isEmpty()) {
-                System.out.println("✅ TECS ID captured via Strategy 1 (TECS ID:): " + tecsId);
-                return tecsId.trim();
+            long timeout = WaitEngine.timeoutFor(TECS_CONFIRMATION_STEP).toMillis();
+            Map<?, ?> result;
+            try {
+                result = (Map<?, ?>) PageHelpers.call(browser, "awaitTecsId", timeout);
+            } catch (Exception e) {
+                // The async script was cut short, e.g. by the driver's script timeout; search the page as it is
+                System.out.println("⚠️ Waiting for the confirmation failed (" + e.getMessage() + "), searching the page once");
+                result = (Map<?, ?>) PageHelpers.call(browser, "awaitTecsId", 0);
             }
-
-            // Strategy 2: Look in success message elements specifically
-            tecsId = (String) js.executeScript(
-                    "var successElements = document.querySelectorAll('.tecs-submitted-message, .tecs-flex-item, .success, .confirmation');" +
-                            "for (var i = 0; i < successElements.length; i++) {" +
-                            "  var text = successElements[i].textContent || successElements[i].innerText || '';" +
-                            "  var match = text.match(/TECS\\s+ID\\s*:\\s*([A-Z0-9]{10,20})/i);" +
-                            "  if (match && match[1]) {" +
-                            "    console.log('Found TECS ID via Strategy 2 (success elements):', match[1]);" +
-                            "    return match[1];" +
-                            "  }" +
-                            "}" +
-                            "return null;"
-            );
-
-            if (tecsId != null && !tecsId.trim().isEmpty()) {
-                System.out.println("✅ TECS ID captured via Strategy 2 (success elements): " + tecsId);
-                return tecsId.trim();
+            if (result == null) {
+                System.out.println("❌ Could not find TECS ID on the page");
+                return null;
             }
 
-            // Strategy 3: Look for the specific pattern P3G followed by numbers and letters
-            tecsId = (String) js.executeScript(
-                    "var bodyText = document.body.textContent || document.body.innerText || '';" +
-                            "var match = bodyText.match(/\\b(P[0-9A-Z]{2}[0-9]{8}[A-Z0-9]{2})\\b/g);" +
-                            "if (match && match.length > 0) {" +
-                            "  console.log('Found TECS ID via Strategy 3 (P3G pattern):', match[0]);" +
-                            "  return match[0];" +
-                            "}" +
-                            "return null;"
-            );
-
-            if (tecsId != null && !tecsId.trim().isEmpty()) {
-                System.out.println("✅ TECS ID captured via Strategy 3 (P3G pattern): " + tecsId);
-                return tecsId.trim();
+            boolean timedOut = Boolean.TRUE.equals(result.get("timedOut"));
+            long waited = result.get("waitedMs") instanceof Number ? ((Number) result.get("waitedMs")).longValue() : timeout;
+            if (timedOut) {
+                StepLatencyTracker.recordTimeout(TECS_CONFIRMATION_STEP);
+                System.out.println("⏱️ Timed out after " + timeout + " ms waiting for: " + TECS_CONFIRMATION_STEP);
+            } else {
+                StepLatencyTracker.record(TECS_CONFIRMATION_STEP, waited);
             }
 
-            // Strategy 4: Look for any text that contains "created" and extract nearby IDs
-            tecsId = (String) js.executeScript(
-                    "var elements = document.querySelectorAll('*');" +
-                            "for (var i = 0; i < elements.length; i++) {" +
-                            "  var text = elements[i].textContent || elements[i].innerText || '';" +
-                            "  if (text.toLowerCase().includes('created') || text.toLowerCase().includes('successfully')) {" +
-                            "    var match = text.match(/([A-Z][0-9A-Z]{10,20})/g);" +
-                            "    if (match) {" +
-                            "      for (var j = 0; j < match.length; j++) {" +
-                            "        if (match[j].length >= 10 && match[j].match(/^[A-Z][0-9A-Z]+$/)) {" +
-                            "          console.log('Found TECS ID via Strategy 4 (created message):', match[j]);" +
-                            "          return match[j];" +
-                            "        }" +
-                            "      }" +
-                            "    }" +
-                            "  }" +
-                            "}" +
-                            "return null;"
-            );
-
-            if (tecsId != null && !tecsId.trim().isEmpty()) {
-                System.out.println("✅ TECS ID captured via Strategy 4 (created message): " + tecsId);
-                return tecsId.trim();
+            String tecsId = (String) result.get("id");
+            double confidence = result.get("confidence") instanceof Number ? ((Number) result.get("confidence")).doubleValue() : 0;
+            if (tecsId != null && confidence < minConfidence) {
+                System.out.println("⚠️ Ignoring " + tecsId + " found via " + result.get("strategy") + " (confidence "
+                        + String.format("%.2f", confidence) + "), too unspecific to record");
+                tecsId = null;
             }
-
-            // Strategy 5: Look for any alphanumeric string that starts with a letter and is 10+ chars
-            tecsId = (String) js.executeScript(
-                    "var bodyText = document.body.textContent || document.body.innerText || '';" +
-                            "var matches = bodyText.match(/\\b[A-Z][A-Z0-9]{9,}\\b/g);" +
-                            "if (matches && matches.length > 0) {" +
-                            "  // Filter out common words that might match this pattern" +
-                            "  var filtered = matches.filter(function(m) {" +
-                            "    return !m.match(/^(SUBMITTED|CREATED|SUCCESSFULLY|UNCLASSIFIED)$/i);" +
-                            "  });" +
-                            "  if (filtered.length > 0) {" +
-                            "    console.log('Found potential TECS ID via Strategy 5:', filtered[0]);" +
-                            "    return filtered[0];" +
-                            "  }" +
-                            "}" +
-                            "return null;"
-            );
-
             if (tecsId != null && !tecsId.trim().isEmpty()) {
-                System.out.println("✅ TECS ID captured via Strategy 5 (alphanumeric): " + tecsId);
+                System.out.println("✅ TECS ID captured via " + result.get("strategy") + " (confidence "
+                        + String.format("%.2f", confidence) + "): " + tecsId);
                 return tecsId.trim();
             }
 
             System.out.println("❌ Could not find TECS ID on the page");
 
             // Debug: Print page content to console for manual inspection
-            String pageContent = (String) js.executeScript("return document.body.textContent || document.body.innerText || '';");
             System.out.println("📄 Page content for manual inspection:");
             System.out.println("FULL PAGE TEXT:");
-            System.out.println(pageContent);
-
-            // Also try to find any text containing "TECS" for debugging
-            String tecsRelatedText = (String) js.executeScript(
-                    "var elements = document.querySelectorAll('*');" +
-                            "var tecsTexts = [];" +
-                            "for (var i = 0; i < elements.length; i++) {" +
-                            "  var text = elements[i].textContent || elements[i].innerText || '';" +
-                            "  if (text.toLowerCase().includes('tecs')) {" +
-                            "    tecsTexts.push(text.trim());" +
-                            "  }" +
-                            "}" +
-                            "return tecsTexts.join(' | ');"
-            );
+            System.out.println(result.get("pageText"));
 
             System.out.println("🔍 All TECS-related text found:");
-            System.out.println(tecsRelatedText);
+            System.out.println(result.get("tecsText"));
 
             return null;
 
@@ -326,31 +580,43 @@ public class FormAutomation {
     }
 
     /**
-     * Update PersonData with TECS ID and save to Excel
-     * @param personData The PersonData object to update
-     * @param tecsId The captured TECS ID
+     * Set up the HTTP submission mode and check its session
+     * @param baseUrl Site the records are posted to
+     * @return Submitter ready for the batch, or null if it is not configured or the session is not logged in
      */
-    private static void updatePersonDataWithTecsId(PersonData personData, String tecsId) {
-        try {
-            if (tecsId != null && !tecsId.trim().isEmpty()) {
-                personData.setTecsId(tecsId.trim());
-                System.out.println("✅ PersonData updated with TECS ID: " + tecsId);
-
-                // Update Excel file with complete data including TECS ID
-                ExcelManager.updateExcelWithTecsId(personData);
-
-                System.out.println("✅ Final PersonData: " + personData.toString());
-            } else {
-                personData.setTecsId("NOT_CAPTURED");
-                System.out.println("⚠️ TECS ID not captured, setting to 'NOT_CAPTURED'");
+    private static HttpSubmitter createHttpSubmitter(EmailService emailService, String baseUrl) {
+        if (emailService.getHttpSubmitPath().isEmpty()) {
+            System.err.println("❌ automation.http.submitPath is required in http mode, stopping");
+            return null;
+        }
+        System.out.println("🌐 Posting records to " + baseUrl + emailService.getHttpSubmitPath() + " without a browser");
+        HttpSubmitter submitter = new HttpSubmitter(baseUrl, emailService.getHttpSubmitPath(),
+                emailService.getHttpSessionCookie(), emailService.getHttpAuthorization(), emailService.getTecsResponseField());
+        if (!submitter.checkSession()) {
+            System.err.println("❌ Log in with a browser and copy a fresh session into automation.http.sessionCookie, stopping");
+            return null;
+        }
+        return submitter;
+    }
 
-                // Still update Excel with available data
-                ExcelManager.updateExcelWithTecsId(personData);
+    /**
+     * Create the browser sessions for the configured engine
+     */
+    private static BrowserEngine.Provider createBrowserProvider(EmailService emailService) {
+        if ("playwright".equalsIgnoreCase(emailService.getBrowserEngine())) {
+            System.out.println("🎭 Using Playwright with one browser context per run");
+            int width = 0;
+            int height = 0;
+            if (batchBrowser) {
+                String[] size = batchWindowSize.split(",");
+                width = Integer.parseInt(size[0].trim());
+                height = Integer.parseInt(size[1].trim());
             }
-        } catch (Exception e) {
-            System.err.println("❌ Error updating PersonData with TECS ID: " + e.getMessage());
-            e.printStackTrace();
+            return new PlaywrightEngine.Provider(batchBrowser, width, height,
+                    batchBrowser ? BATCH_BROWSER_ARGUMENTS : Arrays.asList("--start-maximized"));
         }
+        // Reuse warm Chrome sessions between runs
+        return new SeleniumEngine.Provider(new WebDriverPool(FormAutomation::setupDriver, emailService.getMaxRunsPerSession()));
     }
 
     private static WebDriver setupDriver() {
@@ -362,7 +628,13 @@ public class FormAutomation {
             ChromeOptions options = new ChromeOptions();
 
             // Basic options
-            options.addArguments("--start-maximized");
+            if (batchBrowser) {
+                options.addArguments("--headless=new");
+                options.addArguments("--window-size=" + batchWindowSize);
+                options.addArguments(BATCH_BROWSER_ARGUMENTS);
+            } else {
+                options.addArguments("--start-maximized");
+            }
             options.addArguments("--remote-allow-origins=*");
 
             // Disable automation flags
@@ -0,0 +1,234 @@
+package com.formautomation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A group of form fields filled together in a single script round-trip, e.g. all name or passport fields.
+ * Fields are resolved up front, then filled in order; dropdowns are opened and picked inside the same call.
+ *
+ * new FormSection("Passport")
+ *         .pickRandom("Passport type", FormSection.lastSelect(2))
+ *         .fill("Passport number", FormSection.lastText(1), data.getPassportNumber())
+ *         .fill(browser);
+ *
+ * Targets and option choices are plain maps handed to the page helpers in fa-helpers.js.
+ */
+public class FormSection {
+
+    static final long OPTION_POLL_MS = 100;
+
+    // Step whose timeout bounds how long each dropdown may take to show its options
+    private static final String SELECT_STEP = "new select open";
+
+    private final String name;
+    private final List<Map<String, Object>> fields = new ArrayList<>();
+
+    /**
+     * @param name Section name, used in logs and as the step name "name section"
+     */
+    public FormSection(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Field located through the visible mat-label containing the text; the last match wins
+     */
+    public static Map<String, Object> byLabel(String labelText) {
+        return target("label", labelText, 0);
+    }
+
+    /**
+     * Field located by element id or data-input-id
+     */
+    public static Map<String, Object> byId(String id) {
+        return target("id", id, 0);
+    }
+
+    /**
+     * First element matching a CSS selector
+     */
+    public static Map<String, Object> css(String selector) {
+        return target("css", selector, 0);
+    }
+
+    /**
+     * The nth element matching a CSS selector counted from the end of the page, 1 being the last
+     */
+    public static Map<String, Object> lastCss(String selector, int position) {
+        return target("css", selector, position);
+    }
+
+    /**
+     * The nth visible plain text input counted from the end of the page, 1 being the last
+     */
+    public static Map<String, Object> lastText(int position) {
+        return target("text", null, position);
+    }
+
+    /**
+     * The nth visible date input counted from the end of the page, 1 being the last
+     */
+    public static Map<String, Object> lastDate(int position) {
+        return target("date", null, position);
+    }
+
+    /**
+     * The nth enabled mat-select counted from the end of the page, 1 being the last
+     */
+    public static Map<String, Object> lastSelect(int position) {
+        return target("select", null, position);
+    }
+
+    /**
+     * The option with this element id
+     */
+    public static Map<String, Object> optionId(String id) {
+        return choice("id", id, false);
+    }
+
+    /**
+     * The first option whose text contains the given text
+     */
+    public static Map<String, Object> optionText(String text) {
+        return choice("text", text, false);
+    }
+
+    /**
+     * A random option
+     * @param skipFirstOption true to avoid the first option when there are others, for dropdowns led by a placeholder
+     */
+    public static Map<String, Object> randomOption(boolean skipFirstOption) {
+        return choice("random", "", skipFirstOption);
+    }
+
+    /**
+     * The first option in the panel
+     */
+    public static Map<String, Object> firstOption() {
+        return choice("first", "", false);
+    }
+
+    /**
+     * Set a text, date or textarea field
+     */
+    public FormSection fill(String field, Map<String, Object> target, String value) {
+        field(field, target).put("value", value != null ? value : "");
+        return this;
+    }
+
+    /**
+     * Pick a random option from a dropdown
+     */
+    public FormSection pickRandom(String field, Map<String, Object> target) {
+        return pick(field, target, randomOption(false));
+    }
+
+    /**
+     * Pick a random option from a dropdown
+     * @param skipFirstOption true to avoid the first option when there are others, for dropdowns led by a placeholder
+     */
+    public FormSection pickRandom(String field, Map<String, Object> target, boolean skipFirstOption) {
+        return pick(field, target, randomOption(skipFirstOption));
+    }
+
+    /**
+     * Pick the first dropdown option whose text contains the given text
+     */
+    public FormSection pick(String field, Map<String, Object> target, String optionText) {
+        return pick(field, target, optionText(optionText));
+    }
+
+    /**
+     * Pick a dropdown option
+     * @param choice One of optionId, optionText, randomOption or firstOption
+     */
+    public FormSection pick(String field, Map<String, Object> target, Map<String, Object> choice) {
+        field(field, target).put("choice", choice);
+        return this;
+    }
+
+    /**
+     * Fill every field of the section in one browser call
+     * @return Whether each field was filled, by field name in the order they were added
+     */
+    public Map<String, Boolean> fill(BrowserEngine browser) {
+        String step = name + " section";
+        Map<String, Boolean> filled = new LinkedHashMap<>();
+        System.out.println("Filling " + name + " section (" + fields.size() + " fields)");
+
+        StepEvent event = StepEvent.start(step, null);
+        long start = System.currentTimeMillis();
+        Map<?, ?> results = null;
+        try {
+            Object result = PageHelpers.call(browser, "fillSection", fields, maxPollAttempts(SELECT_STEP), OPTION_POLL_MS);
+            if (result instanceof Map) {
+                results = (Map<?, ?>) result;
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Error filling " + name + " section: " + e.getMessage());
+        }
+        StepLatencyTracker.record(step, System.currentTimeMillis() - start);
+
+        int failures = 0;
+        for (Map<String, Object> field : fields) {
+            String fieldName = (String) field.get("name");
+            Object outcome = results != null ? results.get(fieldName) : "no result";
+            boolean ok = "ok".equals(outcome);
+            filled.put(fieldName, ok);
+            if (!ok) {
+                failures++;
+                System.out.println("  ❌ " + fieldName + ": " + outcome);
+            }
+        }
+        event.finish(failures == 0 ? "ok" : failures + " failed");
+
+        if (failures == 0) {
+            System.out.println("✅ Filled " + name + " section");
+        } else {
+            System.out.println("⚠️ " + name + " section: " + failures + " of " + fields.size() + " fields not filled");
+        }
+        return filled;
+    }
+
+    /**
+     * @return true if every field in the results was filled
+     */
+    public static boolean allFilled(Map<String, Boolean> results) {
+        return !results.isEmpty() && !results.containsValue(false);
+    }
+
+    /**
+     * How many option polls fit into a step's timeout
+     */
+    static long maxPollAttempts(String step) {
+        return Math.max(1, WaitEngine.timeoutFor(step).toMillis() / OPTION_POLL_MS);
+    }
+
+    private Map<String, Object> field(String field, Map<String, Object> target) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("name", field);
+        entry.put("target", target);
+        fields.add(entry);
+        return entry;
+    }
+
+    private static Map<String, Object> target(String by, String key, int position) {
+        Map<String, Object> target = new HashMap<>();
+        target.put("by", by);
+        target.put("key", key != null ? key : "");
+        target.put("position", position);
+        return target;
+    }
+
+    private static Map<String, Object> choice(String mode, String value, boolean skipFirst) {
+        Map<String, Object> choice = new HashMap<>();
+        choice.put("mode", mode);
+        choice.put("value", value);
+        choice.put("skipFirst", skipFirst);
+        return choice;
+    }
+}
@@ -0,0 +1,165 @@
+package com.formautomation;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Submits person records straight to the form's backend API, without a browser, for bulk data seeding.
+ * One HttpClient is shared by every worker, so connections (and HTTP/2 streams) are reused across submissions.
+ * The session is taken over from a logged-in browser: its cookie and/or Authorization header are configured,
+ * and cookies the server sets later, such as Angular's XSRF-TOKEN, are kept and sent back.
+ */
+public class HttpSubmitter {
+
+    static final String SUBMIT_STEP = "HTTP submit";
+
+    // The create request is not idempotent, so it gets a fixed, generous timeout rather than a calibrated one:
+    // a request cut short may still have created the record, and can't safely be sent again
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private static final String XSRF_COOKIE = "XSRF-TOKEN";
+    private static final String XSRF_HEADER = "X-XSRF-TOKEN";
+
+    private static final Json JSON = new Json();
+
+    private final URI baseUri;
+    private final URI submitUri;
+    private final String authorization;
+    private final String tecsIdField;
+    private final CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+    private final HttpClient client;
+
+    /**
+     * @param baseUrl Site root, e.g. https://sasq-sat.cbp.dhs.gov
+     * @param submitPath Path of the create request the form sends on submit
+     * @param sessionCookie Cookie header of a logged-in browser session, e.g. "SESSION=abc; XSRF-TOKEN=def", or empty
+     * @param authorization Authorization header value, e.g. "Bearer ...", or empty
+     * @param tecsIdField JSON field holding the TECS ID in the response, empty to look for any field named like tecsId
+     */
+    public HttpSubmitter(String baseUrl, String submitPath, String sessionCookie, String authorization, String tecsIdField) {
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.submitUri = baseUri.resolve(submitPath.startsWith("/") ? submitPath.substring(1) : submitPath);
+        this.authorization = authorization;
+        this.tecsIdField = tecsIdField;
+
+        for (String pair : sessionCookie.split(";")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                HttpCookie cookie = new HttpCookie(pair.substring(0, equals).trim(), pair.substring(equals + 1).trim());
+                cookie.setPath("/");
+                cookie.setVersion(0);
+                cookies.getCookieStore().add(baseUri, cookie);
+            }
+        }
+
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(10))
+                .cookieHandler(cookies)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * Check that the configured session is still logged in, and pick up the cookies the site sets on its first page
+     * @return true if the site answered without sending us to the login page
+     */
+    public boolean checkSession() {
+        try {
+            HttpResponse<Void> response = client.send(request(baseUri).GET().build(), HttpResponse.BodyHandlers.discarding());
+            int status = response.statusCode();
+            if (status >= 200 && status < 300) {
+                System.out.println("✅ HTTP session accepted by " + baseUri);
+                return true;
+            }
+            System.out.println("❌ HTTP session rejected by " + baseUri + " (status " + status
+                    + response.headers().firstValue("Location").map(location -> ", redirected to " + location).orElse("") + ")");
+            return false;
+        } catch (IOException e) {
+            System.err.println("❌ Could not reach " + baseUri + ": " + e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Send one record to the create endpoint
+     * @return Future completing with the TECS ID from the response, or null if the response holds none;
+     * completes exceptionally if the request fails, is rejected, or times out with an HttpTimeoutException.
+     * Timeouts are counted for SUBMIT_STEP; such a request may still have created the record
+     */
+    public CompletableFuture<String> submitAsync(PersonData data) {
+        HttpRequest request = request(submitUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.toJson(payload(data))))
+                .build();
+
+        long start = System.currentTimeMillis();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    StepLatencyTracker.record(SUBMIT_STEP, System.currentTimeMillis() - start);
+                    if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                        throw new IllegalStateException("create request returned status " + response.statusCode());
+                    }
+                    return TecsIdResponse.findTecsId(response.body(), tecsIdField);
+                })
+                .whenComplete((tecsId, error) -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof HttpTimeoutException && !(cause instanceof HttpConnectTimeoutException)) {
+                        StepLatencyTracker.recordTimeout(SUBMIT_STEP);
+                    }
+                });
+    }
+
+    /**
+     * JSON body for the create request. Field names follow PersonData; rename them here if the API uses others.
+     */
+    static Map<String, Object> payload(PersonData data) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("firstName", data.getFirstName());
+        payload.put("lastName", data.getLastName());
+        payload.put("dob", data.getDob());
+        payload.put("passportNumber", data.getPassportNumber());
+        payload.put("passportIssueDate", data.getPassportIssueDate());
+        payload.put("passportExpiryDate", data.getPassportExpiryDate());
+        payload.put("driverLicense", data.getDriverLicense());
+        payload.put("aNumber", data.getaNumber());
+        payload.put("ssn", data.getSsn());
+        payload.put("height", data.getHeight());
+        payload.put("weight", data.getWeight());
+        return payload;
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (!authorization.isEmpty()) {
+            builder.header("Authorization", authorization);
+        }
+        // Angular's HttpClient echoes the XSRF cookie in a header; the backend expects the same from us
+        for (HttpCookie cookie : cookies.getCookieStore().get(uri)) {
+            if (XSRF_COOKIE.equals(cookie.getName())) {
+                builder.header(XSRF_HEADER, cookie.getValue());
+            }
+        }
+        return builder;
+    }
+}
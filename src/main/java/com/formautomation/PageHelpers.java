@@ -0,0 +1,108 @@
+package com.formautomation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calls the page-side helper bundle (fa-helpers.js) by function name.
+ * The bundle is installed as window.__fa the first time a page needs it; every call after that
+ * runs the same short stub with the data as script arguments, so the browser never re-parses helper code
+ * and values are never spliced into JavaScript source.
+ */
+public class PageHelpers {
+
+    private static final String BUNDLE_RESOURCE = "fa-helpers.js";
+    private static final String MISSING = "__fa_missing__";
+
+    private static final String BUNDLE = loadBundle();
+
+    // Derived from the source, so editing the bundle replaces copies left in pages by an older build
+    private static final String VERSION = Integer.toHexString(BUNDLE.hashCode());
+
+    private static final String CALL_SCRIPT =
+            "var fa = window.__fa;" +
+                    "if (!fa || fa.version !== arguments[0]) return '" + MISSING + "';" +
+                    "return fa[arguments[1]].apply(fa, Array.prototype.slice.call(arguments, 2));";
+
+    /**
+     * Call a helper in the current page, installing the bundle first if the page does not have it yet
+     * @param function Name of a window.__fa function, e.g. "fill" or "findNewest"
+     * @param args Arguments for the function; targets and choices are Maps, see fa-helpers.js
+     * @return The function's result; a returned Promise is awaited
+     */
+    public static Object call(BrowserEngine browser, String function, Object... args) {
+        Object[] scriptArgs = new Object[args.length + 2];
+        scriptArgs[0] = VERSION;
+        scriptArgs[1] = function;
+        System.arraycopy(args, 0, scriptArgs, 2, args.length);
+
+        Object result = browser.executeScript(CALL_SCRIPT, scriptArgs);
+        if (MISSING.equals(result)) {
+            // New page since the last call: install the bundle and call again
+            browser.executeScript(BUNDLE, VERSION);
+            result = browser.executeScript(CALL_SCRIPT, scriptArgs);
+        }
+        return result;
+    }
+
+    /**
+     * Call a helper that returns true or false
+     */
+    public static boolean check(BrowserEngine browser, String function, Object... args) {
+        return Boolean.TRUE.equals(call(browser, function, args));
+    }
+
+    /**
+     * Name of the helper function a script calls, for recording the round-trip
+     * @return The function name, or null if the script is not a helper call
+     */
+    static String functionName(String script, Object[] args) {
+        return CALL_SCRIPT.equals(script) && args.length > 1 ? String.valueOf(args[1]) : null;
+    }
+
+    /**
+     * Describe the element a helper call acts on, from its first argument: an id, a target or a list of targets
+     * @return e.g. "id=firstName" or "select#2", or null if the call takes no element
+     */
+    static String describeTarget(Object[] args) {
+        Object first = args.length > 2 ? args[2] : null;
+        if (first instanceof String) {
+            return (String) first;
+        }
+        if (first instanceof Map) {
+            Map<?, ?> target = (Map<?, ?>) first;
+            if (target.get("by") == null) {
+                return null; // A dropdown choice, not an element
+            }
+            Object key = target.get("key");
+            return target.get("by") + (key != null && !"".equals(key) ? "=" + key : "#" + target.get("position"));
+        }
+        if (first instanceof List) {
+            List<String> targets = new ArrayList<>();
+            for (Object target : (List<?>) first) {
+                String description = describeTarget(new Object[]{null, null, target});
+                if (description != null) {
+                    targets.add(description);
+                }
+            }
+            return targets.isEmpty() ? null : String.join(" | ", targets);
+        }
+        return null;
+    }
+
+    private static String loadBundle() {
+        try (InputStream input = PageHelpers.class.getResourceAsStream(BUNDLE_RESOURCE)) {
+            if (input == null) {
+                throw new IllegalStateException("Helper bundle " + BUNDLE_RESOURCE + " is missing from the classpath");
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read helper bundle " + BUNDLE_RESOURCE, e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.formautomation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+/**
+ * Runs automation runs on a fixed pool of workers, each driving its own browser session
+ */
+public class ParallelRunExecutor {
+
+    private final int parallelism;
+    private final CircuitBreaker circuitBreaker;
+    private final ThroughputController throughputController;
+
+    public ParallelRunExecutor(int parallelism) {
+        this(parallelism, null, null);
+    }
+
+    /**
+     * @param parallelism Number of worker threads; with a throughput controller this is the most that may run at once
+     * @param circuitBreaker Breaker every run must pass before starting, or null to always run
+     * @param throughputController Controller deciding how many workers run at a time, or null to use them all
+     */
+    public ParallelRunExecutor(int parallelism, CircuitBreaker circuitBreaker, ThroughputController throughputController) {
+        this.parallelism = Math.max(1, parallelism);
+        this.circuitBreaker = circuitBreaker;
+        this.throughputController = throughputController;
+    }
+
+    /**
+     * Execute the given runs and wait for them to finish
+     * @param runNumbers Runs to perform, in order
+     * @param runTask Task performing a single run, returning true on success
+     * @return Result of every run keyed by run number, in run order
+     */
+    public Map<Integer, Boolean> execute(List<Integer> runNumbers, IntPredicate runTask) {
+        Map<Integer, Boolean> results = new ConcurrentSkipListMap<>();
+        int totalRuns = runNumbers.size();
+        int workers = Math.min(parallelism, Math.max(1, totalRuns));
+        ExecutorService pool = Executors.newFixedThreadPool(workers, new WorkerThreadFactory());
+
+        System.out.println("🧵 Starting " + workers + " worker(s) for " + totalRuns + " run(s)");
+
+        for (int i = 0; i < totalRuns; i++) {
+            final int runNumber = runNumbers.get(i);
+            final int position = i + 1;
+            pool.submit(() -> {
+                if (throughputController != null) {
+                    try {
+                        throughputController.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                // From here on the slot is ours; it goes back however the task ends
+                Boolean outcome = null;
+                try {
+                    long permit = 0;
+                    if (circuitBreaker != null) {
+                        try {
+                            permit = circuitBreaker.awaitPermission();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+
+                    System.out.println("\n" + "=".repeat(50));
+                    System.out.println("🚀 STARTING RUN " + runNumber + " (" + position + " of " + totalRuns + ") on " + Thread.currentThread().getName());
+                    System.out.println("=".repeat(50));
+
+                    boolean success;
+                    try {
+                        success = runTask.test(runNumber);
+                    } catch (Exception e) {
+                        System.out.println("❌ Unhandled error in run " + runNumber + ": " + e.getMessage());
+                        e.printStackTrace();
+                        success = false;
+                    }
+                    outcome = success;
+                    results.put(runNumber, success);
+                    if (circuitBreaker != null) {
+                        circuitBreaker.recordResult(permit, success);
+                    }
+
+                    if (success) {
+                        System.out.println("✅ RUN " + runNumber + " COMPLETED SUCCESSFULLY");
+                    } else {
+                        System.out.println("❌ RUN " + runNumber + " FAILED");
+                    }
+                } finally {
+                    if (throughputController != null) {
+                        if (outcome != null) {
+                            throughputController.release(outcome);
+                        } else {
+                            throughputController.abandon();
+                        }
+                    }
+                }
+            });
+        }
+
+        pool.shutdown();
+        try {
+            while (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                System.out.println("⏳ " + results.size() + " of " + totalRuns + " runs finished...");
+            }
+        } catch (InterruptedException e) {
+            System.out.println("⚠️ Interrupted while waiting for runs, stopping workers");
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        return results;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Names worker threads so interleaved console output can be told apart
+     */
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "run-worker-" + counter.getAndIncrement());
+            thread.setDaemon(false);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.formautomation;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.TimeoutError;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * BrowserEngine backed by Playwright. Each run gets its own BrowserContext, an isolated
+ * session with its own cookies and storage that costs far less than a new browser.
+ */
+public class PlaywrightEngine implements BrowserEngine {
+
+    private static final double POLL_INTERVAL_MS = 100;
+
+    private static final String ANGULAR_STABLE_SCRIPT =
+            "if (!window.getAllAngularTestabilities) return true;" +
+                    "return window.getAllAngularTestabilities().every(function(t) { return t.isStable(); });";
+
+    private final BrowserContext context;
+    private Page page;
+
+    public PlaywrightEngine(BrowserContext context, Page page) {
+        this.context = context;
+        this.page = page;
+    }
+
+    @Override
+    public void navigate(String url) {
+        page.navigate(url);
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return page.url();
+    }
+
+    @Override
+    public String getTitle() {
+        return page.title();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return fromScript(page.evaluate(wrap(script), toScriptArguments(args)));
+    }
+
+    @Override
+    public void click(String step, String... selectors) {
+        Locator target = page.locator(selectors[0] + " >> visible=true");
+        for (int i = 1; i < selectors.length; i++) {
+            target = target.or(page.locator(selectors[i] + " >> visible=true"));
+        }
+        long timeout = WaitEngine.timeoutFor(step).toMillis();
+        long start = System.currentTimeMillis();
+        try {
+            // Playwright waits for the element to be visible, enabled and stable before clicking
+            target.first().click(new Locator.ClickOptions().setTimeout(timeout));
+            StepLatencyTracker.record(step, System.currentTimeMillis() - start);
+        } catch (TimeoutError e) {
+            StepLatencyTracker.recordTimeout(step);
+            throw e;
+        }
+    }
+
+    @Override
+    public void type(String step, String selector, String text) {
+        Locator input = page.locator(selector).first();
+        long timeout = WaitEngine.timeoutFor(step).toMillis();
+        long start = System.currentTimeMillis();
+        try {
+            input.fill("", new Locator.FillOptions().setTimeout(timeout));
+            StepLatencyTracker.record(step, System.currentTimeMillis() - start);
+        } catch (TimeoutError e) {
+            StepLatencyTracker.recordTimeout(step);
+            throw e;
+        }
+        // Type key by key so input masks see the same events as with a real keyboard
+        input.pressSequentially(text);
+    }
+
+    @Override
+    public boolean waitForScript(String step, String script, Object... args) {
+        long timeout = WaitEngine.timeoutFor(step).toMillis();
+        long start = System.currentTimeMillis();
+        // The page polls the script itself, so the whole wait is a single round-trip
+        ScriptEvent event = ScriptEvent.start(step, ScriptEvent.selectorOf(args), script);
+        Throwable error = null;
+        try {
+            page.waitForFunction(wrap(script), toScriptArguments(args),
+                    new Page.WaitForFunctionOptions().setTimeout(timeout).setPollingInterval(POLL_INTERVAL_MS)).dispose();
+            StepLatencyTracker.record(step, System.currentTimeMillis() - start);
+            return true;
+        } catch (TimeoutError e) {
+            error = e;
+            StepLatencyTracker.recordTimeout(step);
+            System.out.println("⏱️ Timed out after " + timeout + " ms waiting for: " + step);
+            return false;
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            event.finish(error);
+        }
+    }
+
+    @Override
+    public boolean waitForPageReady(String step) {
+        boolean loaded = waitForScript(step, "return document.readyState === 'complete';");
+        return loaded && waitForAngular(step);
+    }
+
+    @Override
+    public boolean waitForAngular(String step) {
+        return waitForScript(step + " angular", ANGULAR_STABLE_SCRIPT);
+    }
+
+    @Override
+    public boolean waitForOverlaysClosed(String step) {
+        return waitForScript(step, "return !(function() {" + WaitEngine.OPEN_OVERLAY_SCRIPT + "})();");
+    }
+
+    @Override
+    public boolean switchToNewTab(String step) {
+        long timeout = WaitEngine.timeoutFor(step).toMillis();
+        long start = System.currentTimeMillis();
+        while (context.pages().size() < 2) {
+            if (System.currentTimeMillis() - start > timeout) {
+                StepLatencyTracker.recordTimeout(step);
+                System.out.println("⏱️ Timed out after " + timeout + " ms waiting for: " + step);
+                return false;
+            }
+            // Lets Playwright process the new page event, unlike Thread.sleep
+            page.waitForTimeout(POLL_INTERVAL_MS);
+        }
+        StepLatencyTracker.record(step, System.currentTimeMillis() - start);
+
+        List<Page> pages = context.pages();
+        page = pages.get(pages.size() - 1);
+        page.bringToFront();
+        waitForPageReady(step);
+        return true;
+    }
+
+    @Override
+    public ResponseCapture captureResponses(String urlPattern, Function<String, String> extractor) {
+        return new ContextResponseCapture(Pattern.compile(urlPattern), extractor);
+    }
+
+    @Override
+    public void release(boolean failed) {
+        try {
+            context.close();
+        } catch (PlaywrightException e) {
+            System.err.println("Error closing browser context: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Listens to every response in the run's browser context, including tabs opened later.
+     * Playwright delivers the events on this thread while it waits, so no locking is needed.
+     */
+    private class ContextResponseCapture implements ResponseCapture {
+        private final Consumer<Response> listener;
+        private String value;
+
+        ContextResponseCapture(Pattern urlPattern, Function<String, String> extractor) {
+            listener = response -> {
+                if (value != null || response.status() < 200 || response.status() >= 300
+                        || !urlPattern.matcher(response.url()).find()) {
+                    return;
+                }
+                try {
+                    value = extractor.apply(response.text());
+                } catch (PlaywrightException e) {
+                    System.err.println("Error reading response body: " + e.getMessage());
+                }
+            };
+            context.onResponse(listener);
+        }
+
+        @Override
+        public String await(String step) {
+            long timeout = WaitEngine.timeoutFor(step).toMillis();
+            long start = System.currentTimeMillis();
+            try {
+                // Returns as soon as the listener has seen the response
+                page.waitForCondition(() -> value != null, new Page.WaitForConditionOptions().setTimeout(timeout));
+                StepLatencyTracker.record(step, System.currentTimeMillis() - start);
+                return value;
+            } catch (TimeoutError e) {
+                StepLatencyTracker.recordTimeout(step);
+                System.out.println("⏱️ Timed out after " + timeout + " ms waiting for: " + step);
+                return null;
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                context.offResponse(listener);
+            } catch (PlaywrightException e) {
+                System.err.println("Error stopping network capture: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Turn a WebDriver-style script body into a function Playwright calls with the argument list
+     */
+    private static String wrap(String script) {
+        return "args => (function() {" + script + "}).apply(null, args)";
+    }
+
+    private static List<Object> toScriptArguments(Object[] args) {
+        List<Object> converted = new ArrayList<>(args.length);
+        for (Object arg : args) {
+            if (arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+                converted.add(((Number) arg).doubleValue());
+            } else {
+                converted.add(arg);
+            }
+        }
+        return converted;
+    }
+
+    /**
+     * Return whole numbers as Long like WebDriver does, so callers can cast results the same way
+     */
+    private static Object fromScript(Object value) {
+        if (value instanceof Number && !(value instanceof Long)) {
+            double number = ((Number) value).doubleValue();
+            if (number == Math.rint(number) && !Double.isInfinite(number)) {
+                return (long) number;
+            }
+            return number;
+        }
+        if (value instanceof List) {
+            List<Object> converted = new ArrayList<>();
+            for (Object item : (List<?>) value) {
+                converted.add(fromScript(item));
+            }
+            return converted;
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> converted = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                converted.put(entry.getKey(), fromScript(entry.getValue()));
+            }
+            return converted;
+        }
+        return value;
+    }
+
+    /**
+     * Opens a fresh browser context per run. Playwright objects may only be used from the thread that
+     * created them, so every worker thread launches one browser and opens all its contexts in it.
+     */
+    public static class Provider implements BrowserEngine.Provider {
+        private final boolean headless;
+        private final int viewportWidth;
+        private final int viewportHeight;
+        private final List<String> launchArguments;
+
+        private final ThreadLocal<Browser> threadBrowser = new ThreadLocal<>();
+        private final List<Playwright> instances = Collections.synchronizedList(new ArrayList<>());
+
+        /**
+         * @param headless true to run without a visible window
+         * @param viewportWidth Viewport width, or 0 to use the window size
+         * @param viewportHeight Viewport height, or 0 to use the window size
+         * @param launchArguments Extra Chromium command line switches
+         */
+        public Provider(boolean headless, int viewportWidth, int viewportHeight, List<String> launchArguments) {
+            this.headless = headless;
+            this.viewportWidth = viewportWidth;
+            this.viewportHeight = viewportHeight;
+            this.launchArguments = launchArguments;
+        }
+
+        @Override
+        public BrowserEngine open() {
+            try {
+                Browser browser = threadBrowser.get();
+                if (browser == null || !browser.isConnected()) {
+                    System.out.println("Launching Chromium through Playwright on " + Thread.currentThread().getName() + "...");
+                    Playwright playwright = Playwright.create();
+                    instances.add(playwright);
+                    browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
+                            .setHeadless(headless)
+                            .setArgs(launchArguments));
+                    threadBrowser.set(browser);
+                }
+
+                Browser.NewContextOptions options = new Browser.NewContextOptions();
+                if (viewportWidth > 0 && viewportHeight > 0) {
+                    options.setViewportSize(viewportWidth, viewportHeight);
+                } else {
+                    options.setViewportSize(null);
+                }
+                BrowserContext context = browser.newContext(options);
+                return new PlaywrightEngine(context, context.newPage());
+            } catch (PlaywrightException e) {
+                System.out.println("Error starting Playwright browser: " + e.getMessage());
+                return null;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            synchronized (instances) {
+                for (Playwright playwright : instances) {
+                    try {
+                        playwright.close();
+                    } catch (PlaywrightException e) {
+                        System.err.println("Error closing Playwright: " + e.getMessage());
+                    }
+                }
+                instances.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.formautomation;
+
+/**
+ * Token bucket shared by all workers, limiting how fast forms are submitted.
+ * Tokens refill at a steady rate up to the burst size, so workers that are ready at the
+ * same time can submit together once, after which submissions settle at the agreed rate.
+ */
+public class RateLimiter {
+
+    private final double tokensPerMs;
+    private final double burst;
+
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param permitsPerMinute Sustained submissions per minute
+     * @param burst Maximum number of submissions allowed back to back
+     */
+    public RateLimiter(double permitsPerMinute, int burst) {
+        this.tokensPerMs = permitsPerMinute / 60_000.0;
+        this.burst = Math.max(1, burst);
+        this.tokens = this.burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Block until a submission may go through
+     */
+    public void acquire() throws InterruptedException {
+        long waitMs = reserve();
+        if (waitMs > 0) {
+            System.out.println("🚦 " + Thread.currentThread().getName() + " waiting " + waitMs + "ms for a submission slot");
+            Thread.sleep(waitMs);
+        }
+    }
+
+    /**
+     * Take a token, going into debt if none is left, so waiting workers are served in order
+     * @return how long the caller has to wait before its token is actually available
+     */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefill) / 1_000_000.0 * tokensPerMs);
+        lastRefill = now;
+
+        tokens -= 1;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens / tokensPerMs);
+    }
+}
@@ -0,0 +1,89 @@
+package com.formautomation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Retries a failed form step with jittered exponential backoff instead of failing the whole run.
+ * The number of attempts is configurable per step, falling back to a default for all steps.
+ */
+public class RetryPolicy {
+
+    private static volatile int defaultAttempts = 3;
+    private static volatile long baseDelayMs = 250;
+    private static volatile long maxDelayMs = 4000;
+
+    private static final Map<String, Integer> stepAttempts = new ConcurrentHashMap<>();
+
+    /**
+     * Load retry settings from the automation configuration
+     */
+    public static void configure(EmailService config) {
+        defaultAttempts = config.getRetryAttempts();
+        baseDelayMs = config.getRetryBaseDelayMs();
+        maxDelayMs = Math.max(baseDelayMs, config.getRetryMaxDelayMs());
+        stepAttempts.putAll(config.getRetryStepAttempts());
+    }
+
+    /**
+     * Override the number of attempts for a named step
+     * @param step Step name, e.g. "Add Race click"
+     * @param attempts Total attempts including the first one; 1 disables retries
+     */
+    public static void setStepAttempts(String step, int attempts) {
+        stepAttempts.put(step, Math.max(1, attempts));
+    }
+
+    /**
+     * Get the number of attempts for a named step
+     */
+    public static int attemptsFor(String step) {
+        return stepAttempts.getOrDefault(step, defaultAttempts);
+    }
+
+    /**
+     * Run a step until it succeeds or its attempts are used up.
+     * An exception thrown by the action counts as a failed attempt.
+     * @param step Step name used for the attempt count and log messages
+     * @param action Step to perform, returning true on success
+     * @return true if any attempt succeeded
+     */
+    public static boolean attempt(String step, BooleanSupplier action) {
+        int attempts = attemptsFor(step);
+        for (int attempt = 1; attempt <= attempts; attempt++) {
+            try {
+                if (action.getAsBoolean()) {
+                    if (attempt > 1) {
+                        System.out.println("🔁 " + step + " succeeded on attempt " + attempt + " of " + attempts);
+                    }
+                    return true;
+                }
+            } catch (Exception e) {
+                System.err.println("❌ " + step + " attempt " + attempt + " failed: " + e.getMessage());
+            }
+
+            if (attempt < attempts) {
+                long delay = backoffDelay(attempt);
+                System.out.println("🔁 Retrying " + step + " in " + delay + "ms (attempt " + (attempt + 1) + " of " + attempts + ")");
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Full jitter: a random delay up to an exponentially growing cap, so parallel workers
+     * that failed at the same moment don't retry in lockstep
+     */
+    static long backoffDelay(int attempt) {
+        long cap = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap / 2, cap + 1);
+    }
+}
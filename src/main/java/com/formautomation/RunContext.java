@@ -0,0 +1,53 @@
+package com.formautomation;
+
+/**
+ * State of a single automation run as it moves through the pipeline stages
+ */
+public class RunContext {
+    private final int runNumber;
+    private PersonData personData;
+    private int rowNumber = -1;
+    private boolean submitted;
+
+    public RunContext(int runNumber) {
+        this.runNumber = runNumber;
+    }
+
+    public int getRunNumber() {
+        return runNumber;
+    }
+
+    public PersonData getPersonData() {
+        return personData;
+    }
+
+    public void setPersonData(PersonData personData) {
+        this.personData = personData;
+    }
+
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(int rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    public boolean isSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(boolean submitted) {
+        this.submitted = submitted;
+    }
+
+    @Override
+    public String toString() {
+        return "RunContext{" +
+                "runNumber=" + runNumber +
+                ", rowNumber=" + rowNumber +
+                ", tecsId='" + (personData != null ? personData.getTecsId() : null) + '\'' +
+                ", submitted=" + submitted +
+                '}';
+    }
+}
@@ -0,0 +1,24 @@
+package com.formautomation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event spanning one automation run, from opening the browser session to releasing it
+ */
+@Name("com.formautomation.Run")
+@Label("Form Run")
+@Category("Form Automation")
+@Description("One automation run filling and submitting the form")
+@StackTrace(false)
+public class RunEvent extends jdk.jfr.Event {
+
+    @Label("Run Number")
+    int runNumber;
+
+    @Label("Outcome")
+    String outcome;
+}
@@ -0,0 +1,289 @@
+package com.formautomation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only journal of run state transitions so an interrupted batch can be resumed.
+ * Entries are written by a background thread and fsynced in batches, so recording a
+ * transition never blocks a worker on disk.
+ */
+public class RunJournal {
+
+    /**
+     * Run states in the order a run passes through them
+     */
+    public enum State {
+        GENERATED, PERSISTED, SUBMITTED, TECS_CAPTURED, RECORDED, FAILED
+    }
+
+    private static final String JOURNAL_FILE_NAME = "run-journal.log";
+    private static final long FSYNC_INTERVAL_MS = 200;
+    private static final String BATCH = "BATCH";
+    private static final String LINE_END = "\n";
+
+    private final File file;
+    private final BlockingQueue<String> pending = new LinkedBlockingQueue<>();
+    private FileChannel channel;
+    private Thread writerThread;
+    private volatile boolean closing = false;
+
+    public RunJournal() {
+        this(new File(JOURNAL_FILE_NAME));
+    }
+
+    /**
+     * @param file Journal file, for runs that must not touch the batch's own journal
+     */
+    public RunJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Read the journal of an unfinished batch
+     * @return Latest known state of every run, empty if there is nothing to resume
+     */
+    public Map<Integer, RecoveredRun> recover() {
+        Map<Integer, RecoveredRun> runs = new TreeMap<>();
+        if (!file.exists()) {
+            return runs;
+        }
+
+        try {
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t", -1);
+                if (parts.length < 2) {
+                    continue; // Torn write from a crash
+                }
+                if (BATCH.equals(parts[0])) {
+                    if ("COMPLETE".equals(parts[1])) {
+                        runs.clear(); // Last batch finished, nothing to resume
+                    }
+                    continue;
+                }
+                try {
+                    int runNumber = Integer.parseInt(parts[0]);
+                    State state = State.valueOf(parts[1]);
+                    RecoveredRun run = runs.computeIfAbsent(runNumber, RecoveredRun::new);
+                    run.apply(state, parts);
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                    // Ignore a partially written entry
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error reading run journal: " + e.getMessage());
+        }
+        return runs;
+    }
+
+    /**
+     * Open the journal for writing
+     * @param fresh true to truncate it and start a new batch, false to keep appending to the one being resumed
+     * @param totalRuns Number of runs in the batch
+     */
+    public void open(boolean fresh, int totalRuns) throws IOException {
+        if (fresh) {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } else {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        writerThread = new Thread(this::writeLoop, "run-journal");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        pending.add(BATCH + "\t" + (fresh ? "START" : "RESUME") + "\t" + totalRuns);
+    }
+
+    /**
+     * Record that a run reached a state. Returns immediately; the entry is written in the background.
+     */
+    public void append(RunContext run, State state) {
+        StringBuilder line = new StringBuilder();
+        line.append(run.getRunNumber()).append('\t').append(state.name());
+
+        PersonData data = run.getPersonData();
+        switch (state) {
+            case GENERATED:
+                for (String value : new String[]{
+                        data.getFirstName(), data.getLastName(), data.getDob(), data.getPassportNumber(),
+                        data.getPassportIssueDate(), data.getPassportExpiryDate(), data.getDriverLicense(),
+                        data.getSsn(), data.getaNumber(), data.getHeight(), data.getWeight()}) {
+                    line.append('\t').append(escape(value));
+                }
+                break;
+            case PERSISTED:
+                line.append('\t').append(run.getRowNumber());
+                break;
+            case TECS_CAPTURED:
+                line.append('\t').append(escape(data.getTecsId()));
+                break;
+            default:
+                break;
+        }
+        pending.add(line.toString());
+    }
+
+    /**
+     * Mark the batch as finished so the next start begins a new one
+     */
+    public void markBatchComplete() {
+        pending.add(BATCH + "\tCOMPLETE");
+    }
+
+    /**
+     * Write and fsync everything still pending, then stop the writer thread
+     */
+    public void close() {
+        if (writerThread == null) {
+            return;
+        }
+        closing = true;
+        try {
+            writerThread.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("❌ Error closing run journal: " + e.getMessage());
+        }
+    }
+
+    private void writeLoop() {
+        List<String> batch = new ArrayList<>();
+        long lastSync = System.currentTimeMillis();
+        boolean dirty = false;
+        try {
+            while (true) {
+                String first = pending.poll(FSYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    pending.drainTo(batch);
+                    StringBuilder chunk = new StringBuilder();
+                    for (String line : batch) {
+                        chunk.append(line).append(LINE_END);
+                    }
+                    ByteBuffer buffer = ByteBuffer.wrap(chunk.toString().getBytes(StandardCharsets.UTF_8));
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    batch.clear();
+                    dirty = true;
+                }
+
+                // Group commit: one fsync covers every entry written since the last one
+                long now = System.currentTimeMillis();
+                boolean done = closing && pending.isEmpty();
+                if (dirty && (done || now - lastSync >= FSYNC_INTERVAL_MS)) {
+                    channel.force(false);
+                    lastSync = now;
+                    dirty = false;
+                }
+                if (done) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("❌ Error writing run journal: " + e.getMessage());
+        }
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n");
+    }
+
+    private static String unescape(String value) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(next == 't' ? '\t' : next == 'n' ? '\n' : next);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Everything the journal knows about one run of an interrupted batch
+     */
+    public static class RecoveredRun {
+        private final int runNumber;
+        private State state;
+        private PersonData personData;
+        private int rowNumber = -1;
+
+        RecoveredRun(int runNumber) {
+            this.runNumber = runNumber;
+        }
+
+        void apply(State newState, String[] parts) {
+            switch (newState) {
+                case GENERATED:
+                    PersonData data = new PersonData();
+                    data.setFirstName(unescape(parts[2]));
+                    data.setLastName(unescape(parts[3]));
+                    data.setDob(unescape(parts[4]));
+                    data.setPassportNumber(unescape(parts[5]));
+                    data.setPassportIssueDate(unescape(parts[6]));
+                    data.setPassportExpiryDate(unescape(parts[7]));
+                    data.setDriverLicense(unescape(parts[8]));
+                    data.setSsn(unescape(parts[9]));
+                    data.setaNumber(unescape(parts[10]));
+                    data.setHeight(unescape(parts[11]));
+                    data.setWeight(unescape(parts[12]));
+                    personData = data;
+                    break;
+                case PERSISTED:
+                    rowNumber = Integer.parseInt(parts[2]);
+                    break;
+                case TECS_CAPTURED:
+                    if (personData != null) {
+                        personData.setTecsId(unescape(parts[2]));
+                    }
+                    break;
+                default:
+                    break;
+            }
+            state = newState;
+        }
+
+        /**
+         * Rebuild the run's context with the data already generated and persisted
+         */
+        public RunContext toRunContext() {
+            RunContext run = new RunContext(runNumber);
+            run.setPersonData(personData);
+            run.setRowNumber(rowNumber);
+            run.setSubmitted(state == State.SUBMITTED || state == State.TECS_CAPTURED || state == State.RECORDED);
+            return run;
+        }
+
+        public int getRunNumber() {
+            return runNumber;
+        }
+
+        public State getState() {
+            return state;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.formautomation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Staged run pipeline: generate → persist → submit → capture → record.
+ * Data generation and Excel I/O run on their own threads and hand work to the browser
+ * workers through bounded queues, so browsers never wait on Faker or disk and memory
+ * stays bounded when the browsers are the bottleneck.
+ */
+public class RunPipeline {
+
+    private static final RunContext END_OF_STREAM = new RunContext(-1);
+
+    private final List<RunContext> runs;
+    private final RunJournal journal;
+    private final Semaphore bufferedRuns;
+    private final BlockingQueue<RunContext> toPersist;
+    private final BlockingQueue<RunContext> toRecord;
+    private final Map<Integer, CompletableFuture<RunContext>> ready = new ConcurrentHashMap<>();
+    private final Map<Integer, RunContext> runsByNumber = new ConcurrentHashMap<>();
+
+    private Thread generateThread;
+    private Thread persistThread;
+    private Thread recordThread;
+    private volatile Exception stageFailure;
+
+    /**
+     * @param runs Runs to process in order; resumed runs may already carry data and an Excel row
+     * @param bufferSize Maximum runs generated ahead of the browser workers
+     * @param journal Journal receiving each run's state transitions
+     */
+    public RunPipeline(List<RunContext> runs, int bufferSize, RunJournal journal) {
+        this.runs = runs;
+        this.journal = journal;
+        this.bufferedRuns = new Semaphore(Math.max(1, bufferSize));
+        this.toPersist = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        this.toRecord = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        for (RunContext run : runs) {
+            runsByNumber.put(run.getRunNumber(), run);
+        }
+    }
+
+    /**
+     * Start the generate, persist and record stages
+     */
+    public void start() {
+        generateThread = startStage("pipeline-generate", this::generateStage);
+        persistThread = startStage("pipeline-persist", this::persistStage);
+        recordThread = startStage("pipeline-record", this::recordStage);
+    }
+
+    /**
+     * Block until a run's data has been generated and persisted, then hand it to the caller.
+     * Called by browser workers; taking a run frees buffer space for the generator.
+     * @param runNumber Run to wait for
+     * @return The run ready for submission
+     * @throws Exception if generating or persisting the run failed; the run is then marked failed
+     */
+    public RunContext awaitReady(int runNumber) throws Exception {
+        CompletableFuture<RunContext> future = readyFuture(runNumber);
+        try {
+            while (true) {
+                try {
+                    return future.get(1, TimeUnit.SECONDS);
+                } catch (TimeoutException e) {
+                    // A dead upstream stage would otherwise leave this worker waiting forever
+                    if (stageFailure != null) {
+                        throw stageFailure;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // The run never reaches the record stage, so release its row here; an open row holds back every later one
+            RunContext run = runsByNumber.get(runNumber);
+            if (run != null) {
+                journal.append(run, RunJournal.State.FAILED);
+                ExcelManager.releaseRow(run.getRowNumber());
+            }
+            throw e;
+        } finally {
+            ready.remove(runNumber);
+            bufferedRuns.release();
+        }
+    }
+
+    /**
+     * Queue a finished browser run for the record stage. Blocks if the Excel writer is behind.
+     */
+    public void record(RunContext run) throws InterruptedException {
+        if (!enqueueRecord(run)) {
+            System.out.println("❌ Record stage has stopped, run " + run.getRunNumber() + " is not written to Excel");
+        }
+    }
+
+    /**
+     * Wait for every queued record to be written, then stop the stage threads
+     */
+    public void finish() {
+        try {
+            if (enqueueRecord(END_OF_STREAM)) {
+                recordThread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        generateThread.interrupt();
+        persistThread.interrupt();
+    }
+
+    /**
+     * Put a run on the record queue, giving up if the record stage has died and can no longer make room
+     * @return false if the record stage is gone
+     */
+    private boolean enqueueRecord(RunContext run) throws InterruptedException {
+        while (!toRecord.offer(run, 1, TimeUnit.SECONDS)) {
+            if (!recordThread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void generateStage() throws InterruptedException {
+        for (RunContext run : runs) {
+            bufferedRuns.acquire();
+            try {
+                // Resumed runs reuse the data generated before the crash
+                if (run.getPersonData() == null) {
+                    run.setPersonData(DataGenerator.generatePersonData());
+                    journal.append(run, RunJournal.State.GENERATED);
+                }
+                toPersist.put(run);
+            } catch (RuntimeException e) {
+                System.out.println("❌ Data generation failed for run " + run.getRunNumber() + ": " + e.getMessage());
+                readyFuture(run.getRunNumber()).completeExceptionally(e);
+            }
+        }
+        toPersist.put(END_OF_STREAM);
+    }
+
+    private void persistStage() throws InterruptedException {
+        RunContext run;
+        while ((run = toPersist.take()) != END_OF_STREAM) {
+            if (run.getRowNumber() < 0) {
+                int rowNumber = ExcelManager.appendDataToExcel(run.getPersonData());
+                run.setRowNumber(rowNumber);
+                journal.append(run, RunJournal.State.PERSISTED);
+            }
+            readyFuture(run.getRunNumber()).complete(run);
+        }
+    }
+
+    private void recordStage() throws InterruptedException {
+        RunContext run;
+        while ((run = toRecord.poll(1, TimeUnit.SECONDS)) != END_OF_STREAM) {
+            if (run == null) {
+                ExcelManager.snapshotIfDue(); // A quiet spell still gets its snapshot on time
+                continue;
+            }
+            if (!run.isSubmitted()) {
+                journal.append(run, RunJournal.State.FAILED);
+                ExcelManager.releaseRow(run.getRowNumber());
+                continue; // Failed runs keep their PENDING row
+            }
+
+            PersonData personData = run.getPersonData();
+            String tecsId = personData.getTecsId();
+            if (tecsId != null && !tecsId.trim().isEmpty()) {
+                personData.setTecsId(tecsId.trim());
+                System.out.println("✅ PersonData updated with TECS ID: " + tecsId);
+            } else {
+                personData.setTecsId("NOT_CAPTURED");
+                System.out.println("⚠️ TECS ID not captured, setting to 'NOT_CAPTURED'");
+            }
+
+            // Written to Excel once, complete with TECS ID
+            ExcelManager.writeResult(personData, run.getRowNumber());
+            journal.append(run, RunJournal.State.RECORDED);
+            System.out.println("✅ Final PersonData for run " + run.getRunNumber() + ": " + personData);
+        }
+    }
+
+    private CompletableFuture<RunContext> readyFuture(int runNumber) {
+        return ready.computeIfAbsent(runNumber, k -> new CompletableFuture<>());
+    }
+
+    private Thread startStage(String name, Stage stage) {
+        Thread thread = new Thread(() -> {
+            try {
+                stage.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                System.err.println("❌ Pipeline stage " + name + " failed: " + e.getMessage());
+                e.printStackTrace();
+                stageFailure = e;
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,68 @@
+package com.formautomation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one JavaScript round-trip to the browser
+ */
+@Name("com.formautomation.Script")
+@Label("Browser Script")
+@Category("Form Automation")
+@Description("A script executed in the page, timed from request to result")
+@StackTrace(false)
+public class ScriptEvent extends jdk.jfr.Event {
+
+    private static final int MAX_SCRIPT_LENGTH = 120;
+
+    @Label("Step")
+    @Description("Form step or page helper function the script ran for")
+    String step;
+
+    @Label("Selector")
+    @Description("Id, selector or target the script acted on, empty if none")
+    String selector;
+
+    @Label("Script")
+    @Description("Start of the script source")
+    String script;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Start timing a script round-trip
+     * @param step Step or helper function the script runs for
+     * @param selector Element the script acts on, or null
+     */
+    static ScriptEvent start(String step, String selector, String script) {
+        ScriptEvent event = new ScriptEvent();
+        if (event.isEnabled()) {
+            event.step = step;
+            event.selector = selector != null ? selector : "";
+            event.script = script.length() > MAX_SCRIPT_LENGTH ? script.substring(0, MAX_SCRIPT_LENGTH) : script;
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Element a waited-on script acts on; such scripts take its id or selector as the first argument
+     * @return The selector, or null if the script takes none
+     */
+    static String selectorOf(Object[] args) {
+        return args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+    }
+
+    /**
+     * Finish timing and commit the event
+     * @param error Exception thrown by the script, or null if it returned normally
+     */
+    void finish(Throwable error) {
+        outcome = error == null ? "ok" : error.getClass().getSimpleName();
+        commit();
+    }
+}
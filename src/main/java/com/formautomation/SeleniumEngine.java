@@ -0,0 +1,260 @@
+package com.formautomation;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+// CDP bindings are generated per Chrome version; v114 is the newest that ships with selenium-devtools 4.10.0.
+// Move this to a newer package together with the Selenium version in pom.xml
+import org.openqa.selenium.devtools.v114.network.Network;
+import org.openqa.selenium.devtools.v114.network.model.RequestId;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * BrowserEngine backed by a Selenium WebDriver session checked out of a WebDriverPool
+ */
+public class SeleniumEngine implements BrowserEngine {
+
+    private final WebDriver driver;
+    private final WebDriverPool pool;
+
+    public SeleniumEngine(WebDriver driver, WebDriverPool pool) {
+        this.driver = driver;
+        this.pool = pool;
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    @Override
+    public void navigate(String url) {
+        driver.get(url);
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        return driver.getCurrentUrl();
+    }
+
+    @Override
+    public String getTitle() {
+        return driver.getTitle();
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        return ((JavascriptExecutor) driver).executeScript(script, args);
+    }
+
+    @Override
+    public void click(String step, String... selectors) {
+        WebElement target = WaitEngine.until(driver, step, d -> {
+            for (String selector : selectors) {
+                for (WebElement candidate : d.findElements(toBy(selector))) {
+                    if (candidate.isDisplayed() && candidate.isEnabled()) return candidate;
+                }
+            }
+            return null;
+        });
+        // Click through JavaScript so a leftover overlay can't intercept it
+        executeScript("arguments[0].click();", target);
+    }
+
+    @Override
+    public void type(String step, String selector, String text) {
+        WebElement element = WaitEngine.untilVisible(driver, step, toBy(selector));
+        element.clear();
+        element.sendKeys(text);
+    }
+
+    @Override
+    public boolean waitForScript(String step, String script, Object... args) {
+        return WaitEngine.untilScript(driver, step, script, args);
+    }
+
+    @Override
+    public boolean waitForPageReady(String step) {
+        return WaitEngine.untilPageReady(driver, step);
+    }
+
+    @Override
+    public boolean waitForAngular(String step) {
+        return WaitEngine.untilAngularStable(driver, step);
+    }
+
+    @Override
+    public boolean waitForOverlaysClosed(String step) {
+        return WaitEngine.untilOverlaysClosed(driver, step);
+    }
+
+    @Override
+    public boolean switchToNewTab(String step) {
+        String originalWindow = driver.getWindowHandle();
+        if (!WaitEngine.tryUntil(driver, step, d -> d.getWindowHandles().size() > 1)) {
+            return false;
+        }
+        for (String windowHandle : driver.getWindowHandles()) {
+            if (!windowHandle.equals(originalWindow)) {
+                driver.switchTo().window(windowHandle);
+                System.out.println("Switched to new tab: " + windowHandle);
+                break;
+            }
+        }
+        WaitEngine.untilPageReady(driver, step);
+        return true;
+    }
+
+    @Override
+    public ResponseCapture captureResponses(String urlPattern, Function<String, String> extractor) {
+        if (!(driver instanceof HasDevTools)) {
+            System.out.println("⚠️ This driver has no DevTools connection, network capture is off");
+            return new DevToolsCapture(null, urlPattern, extractor);
+        }
+        return new DevToolsCapture(((HasDevTools) driver).getDevTools(), urlPattern, extractor);
+    }
+
+    @Override
+    public void release(boolean failed) {
+        pool.release(driver, failed);
+    }
+
+    /**
+     * Translate a Playwright-style selector into a Selenium locator
+     */
+    static By toBy(String selector) {
+        if (selector.startsWith("id=")) {
+            return By.id(selector.substring(3));
+        }
+        if (selector.startsWith("xpath=")) {
+            return By.xpath(selector.substring(6));
+        }
+        if (selector.startsWith("css=")) {
+            return By.cssSelector(selector.substring(4));
+        }
+        return By.cssSelector(selector);
+    }
+
+    /**
+     * Reads response bodies through the Chrome DevTools Network domain. A response is remembered when its
+     * headers arrive and its body fetched once loading has finished, so capture completes with the response itself.
+     */
+    static class DevToolsCapture implements ResponseCapture {
+        private final DevTools devTools;
+        private final Pattern urlPattern;
+        private final Function<String, String> extractor;
+        private final Set<RequestId> matchingRequests = ConcurrentHashMap.newKeySet();
+        private final CompletableFuture<String> value = new CompletableFuture<>();
+
+        DevToolsCapture(DevTools devTools, String urlPattern, Function<String, String> extractor) {
+            this.devTools = devTools;
+            this.urlPattern = Pattern.compile(urlPattern);
+            this.extractor = extractor;
+            if (devTools == null) {
+                value.complete(null);
+                return;
+            }
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+            devTools.addListener(Network.responseReceived(), received -> {
+                int status = received.getResponse().getStatus();
+                if (status >= 200 && status < 300 && this.urlPattern.matcher(received.getResponse().getUrl()).find()) {
+                    matchingRequests.add(received.getRequestId());
+                }
+            });
+            devTools.addListener(Network.loadingFinished(), finished -> {
+                if (matchingRequests.remove(finished.getRequestId()) && !value.isDone()) {
+                    // Commands can't be sent from the listener thread, it delivers their replies
+                    CompletableFuture.runAsync(() -> readBody(finished.getRequestId()));
+                }
+            });
+        }
+
+        private void readBody(RequestId requestId) {
+            try {
+                Network.GetResponseBodyResponse response = devTools.send(Network.getResponseBody(requestId));
+                String body = response.getBase64Encoded()
+                        ? new String(Base64.getDecoder().decode(response.getBody()), StandardCharsets.UTF_8)
+                        : response.getBody();
+                String extracted = extractor.apply(body);
+                if (extracted != null) {
+                    value.complete(extracted);
+                }
+            } catch (Exception e) {
+                System.err.println("Error reading response body: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public String await(String step) {
+            long timeout = WaitEngine.timeoutFor(step).toMillis();
+            long start = System.currentTimeMillis();
+            try {
+                String result = value.get(timeout, TimeUnit.MILLISECONDS);
+                StepLatencyTracker.record(step, System.currentTimeMillis() - start);
+                return result;
+            } catch (TimeoutException e) {
+                StepLatencyTracker.recordTimeout(step);
+                System.out.println("⏱️ Timed out after " + timeout + " ms waiting for: " + step);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (devTools == null) {
+                return;
+            }
+            try {
+                devTools.clearListeners();
+                devTools.send(Network.disable());
+            } catch (Exception e) {
+                System.err.println("Error stopping network capture: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Hands out warm Chrome sessions from a WebDriverPool
+     */
+    public static class Provider implements BrowserEngine.Provider {
+        private final WebDriverPool pool;
+
+        public Provider(WebDriverPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public BrowserEngine open() {
+            WebDriver driver = pool.checkout();
+            if (driver == null) {
+                return null;
+            }
+            BrowserDiagnostics.printWebDriverInfo(driver);
+            return new SeleniumEngine(driver, pool);
+        }
+
+        @Override
+        public void shutdown() {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.formautomation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one named form step, such as a wait, click or dropdown selection
+ */
+@Name("com.formautomation.Step")
+@Label("Form Step")
+@Category("Form Automation")
+@Description("A named form step and the element it acted on")
+@StackTrace(false)
+public class StepEvent extends jdk.jfr.Event {
+
+    @Label("Step")
+    String step;
+
+    @Label("Selector")
+    @Description("Id or selector of the element the step acted on, empty for page-level waits")
+    String selector;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Start timing a step
+     * @param selector Element the step acts on, or null
+     */
+    static StepEvent start(String step, String selector) {
+        StepEvent event = new StepEvent();
+        if (event.isEnabled()) {
+            event.step = step;
+            event.selector = selector != null ? selector : "";
+            event.begin();
+        }
+        return event;
+    }
+
+    /**
+     * Finish timing and commit the event
+     */
+    void finish(String outcome) {
+        this.outcome = outcome;
+        commit();
+    }
+}
@@ -0,0 +1,260 @@
+package com.formautomation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how long each named step takes and derives per-step timeouts from the rolling p99.
+ * Samples are persisted between runs so a new batch starts with calibrated timeouts.
+ */
+public class StepLatencyTracker {
+
+    private static final String LATENCY_FILE_NAME = "step-latencies.properties";
+    private static final int WINDOW_SIZE = 200;          // Samples kept per step
+    private static final int MIN_SAMPLES = 10;           // Samples needed before a step is calibrated
+    private static final double TIMEOUT_HEADROOM = 2.0;  // Timeout = p99 * headroom
+    private static final long MIN_TIMEOUT_MS = 1000;
+    private static final long MAX_TIMEOUT_MS = 60000;
+    private static final int RECENT_OUTCOMES = 20;       // Waits the timeout rate is computed over
+    private static final double HIGH_TIMEOUT_RATE = 0.1; // Above this each further timeout doubles the step's timeout
+
+    private static final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> timeouts = new ConcurrentHashMap<>();
+
+    /**
+     * Record one observed latency for a step
+     * @param step Step name, e.g. "Add Race"
+     * @param millis How long the step took; timeouts go to recordTimeout instead
+     */
+    public static void record(String step, long millis) {
+        windows.computeIfAbsent(step, k -> new Window()).add(millis);
+        StepMetrics.record(step, millis);
+    }
+
+    /**
+     * Count a step that timed out. Timeouts are kept out of the samples: recorded as latencies equal to
+     * the timeout, each one would raise the p99 and with it the next timeout, until every wait hit the ceiling.
+     * Instead, while a step's recent timeout rate is high, each timeout doubles its calibrated timeout,
+     * so a site that got slower than the samples say is still waited for.
+     * @param step Step name
+     */
+    public static void recordTimeout(String step) {
+        timeouts.computeIfAbsent(step, k -> new AtomicLong()).incrementAndGet();
+        windows.computeIfAbsent(step, k -> new Window()).addTimeout();
+        StepMetrics.recordTimeout(step);
+    }
+
+    /**
+     * Get the number of times a step timed out since the tracker was loaded
+     */
+    public static long timeoutCount(String step) {
+        AtomicLong count = timeouts.get(step);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Get the calibrated timeout for a step
+     * @param step Step name
+     * @return Timeout derived from the step's p99, widened after repeated timeouts,
+     *         or null if there are too few samples yet
+     */
+    public static Duration calibratedTimeout(String step) {
+        Window window = windows.get(step);
+        if (window == null || window.size() < MIN_SAMPLES) {
+            return null;
+        }
+        long timeout = Math.max(MIN_TIMEOUT_MS, (long) (window.percentile(99) * TIMEOUT_HEADROOM)) << window.widenings();
+        return Duration.ofMillis(Math.min(MAX_TIMEOUT_MS, timeout));
+    }
+
+    public static long percentile(String step, double percentile) {
+        Window window = windows.get(step);
+        return window == null ? 0 : window.percentile(percentile);
+    }
+
+    /**
+     * Get a percentile over only the most recent samples of a step
+     * @param step Step name
+     * @param percentile Percentile between 0 and 100
+     * @param recentSamples Number of newest samples to include
+     * @return latency in milliseconds, or 0 if there are no samples
+     */
+    public static long recentPercentile(String step, double percentile, int recentSamples) {
+        Window window = windows.get(step);
+        return window == null ? 0 : window.recentPercentile(percentile, recentSamples);
+    }
+
+    /**
+     * Get the number of samples recorded for a step since the tracker was loaded,
+     * including those that have rolled out of the window
+     */
+    public static long sampleCount(String step) {
+        Window window = windows.get(step);
+        return window == null ? 0 : window.total();
+    }
+
+    /**
+     * Load samples saved by a previous batch
+     */
+    public static void load() {
+        File file = new File(LATENCY_FILE_NAME);
+        if (!file.exists()) {
+            System.out.println("ℹ️ No saved step latencies yet, using default timeouts");
+            return;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream input = new FileInputStream(file)) {
+            properties.load(input);
+            for (String step : properties.stringPropertyNames()) {
+                Window window = windows.computeIfAbsent(step, k -> new Window());
+                for (String sample : properties.getProperty(step).split(",")) {
+                    if (!sample.trim().isEmpty()) {
+                        window.add(Long.parseLong(sample.trim()));
+                    }
+                }
+            }
+            System.out.println("✅ Loaded latencies for " + windows.size() + " step(s) from " + LATENCY_FILE_NAME);
+        } catch (Exception e) {
+            System.err.println("❌ Error loading step latencies: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Save the rolling samples so the next batch starts calibrated
+     */
+    public static void save() {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Window> entry : windows.entrySet()) {
+            long[] samples = entry.getValue().snapshot();
+            StringBuilder value = new StringBuilder();
+            for (int i = 0; i < samples.length; i++) {
+                if (i > 0) value.append(',');
+                value.append(samples[i]);
+            }
+            properties.setProperty(entry.getKey(), value.toString());
+        }
+
+        try (OutputStream output = new FileOutputStream(LATENCY_FILE_NAME)) {
+            properties.store(output, "Rolling step latencies in milliseconds, oldest first");
+            System.out.println("✅ Step latencies saved to " + LATENCY_FILE_NAME);
+        } catch (Exception e) {
+            System.err.println("❌ Error saving step latencies: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Print p50/p99 and the resulting timeout for every step
+     */
+    public static void printSummary() {
+        System.out.println("⏱️ Step latencies (p50 / p99 / timeout):");
+        for (String step : new TreeMap<>(windows).keySet()) {
+            Duration timeout = calibratedTimeout(step);
+            long timedOut = timeoutCount(step);
+            System.out.println("  " + step + ": " + percentile(step, 50) + " ms / " + percentile(step, 99) + " ms / "
+                    + (timeout != null ? timeout.toMillis() + " ms" : "default")
+                    + (timedOut > 0 ? " (" + timedOut + " timed out)" : ""));
+        }
+    }
+
+    /**
+     * Fixed-size ring buffer of the most recent samples for one step
+     */
+    private static class Window {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int next = 0;
+        private int count = 0;
+        private long total = 0;
+        private final boolean[] recentTimeouts = new boolean[RECENT_OUTCOMES];
+        private int nextOutcome = 0;
+        private int outcomes = 0;
+        private int widenings = 0; // Times the calibrated timeout is doubled
+
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % WINDOW_SIZE;
+            if (count < WINDOW_SIZE) {
+                count++;
+            }
+            total++;
+            addOutcome(false);
+            if (timeoutRate() <= HIGH_TIMEOUT_RATE) {
+                widenings = 0;
+            }
+        }
+
+        synchronized void addTimeout() {
+            addOutcome(true);
+            if (timeoutRate() > HIGH_TIMEOUT_RATE) {
+                // 60 s is reached from the 1 s floor within six doublings; more would only risk overflow
+                widenings = Math.min(widenings + 1, 6);
+            }
+        }
+
+        synchronized int widenings() {
+            return widenings;
+        }
+
+        private void addOutcome(boolean timedOut) {
+            recentTimeouts[nextOutcome] = timedOut;
+            nextOutcome = (nextOutcome + 1) % RECENT_OUTCOMES;
+            if (outcomes < RECENT_OUTCOMES) {
+                outcomes++;
+            }
+        }
+
+        private double timeoutRate() {
+            int timedOut = 0;
+            for (int i = 0; i < outcomes; i++) {
+                if (recentTimeouts[i]) timedOut++;
+            }
+            return (double) timedOut / outcomes;
+        }
+
+        synchronized int size() {
+            return count;
+        }
+
+        synchronized long total() {
+            return total;
+        }
+
+        synchronized long percentile(double percentile) {
+            return percentileOf(Arrays.copyOf(samples, count), percentile);
+        }
+
+        synchronized long recentPercentile(double percentile, int recentSamples) {
+            long[] ordered = snapshot();
+            int n = Math.max(0, Math.min(ordered.length, recentSamples));
+            return percentileOf(Arrays.copyOfRange(ordered, ordered.length - n, ordered.length), percentile);
+        }
+
+        private static long percentileOf(long[] values, double percentile) {
+            if (values.length == 0) {
+                return 0;
+            }
+            Arrays.sort(values);
+            int index = (int) Math.ceil(percentile / 100.0 * values.length) - 1;
+            return values[Math.max(0, Math.min(values.length - 1, index))];
+        }
+
+        synchronized long[] snapshot() {
+            long[] ordered = new long[count];
+            int start = count < WINDOW_SIZE ? 0 : next;
+            for (int i = 0; i < count; i++) {
+                ordered[i] = samples[(start + i) % WINDOW_SIZE];
+            }
+            return ordered;
+        }
+    }
+}
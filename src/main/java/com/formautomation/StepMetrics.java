@@ -0,0 +1,259 @@
+package com.formautomation;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histograms for every named step of a run, from single waits up to whole pages and Excel writes.
+ * Served in Prometheus text format on a local port while a batch runs, and dumped as JSON when it ends.
+ */
+public class StepMetrics {
+
+    private static final String METRICS_FILE_NAME = "step-metrics.json";
+    private static final String METRIC_NAME = "form_step_duration_seconds";
+    private static final String TIMEOUT_METRIC_NAME = "form_step_timeouts_total";
+
+    // Bucket boundaries reported to Prometheus, in seconds
+    private static final double[] PROMETHEUS_BUCKETS = {0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120, 300};
+
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> timeouts = new ConcurrentHashMap<>();
+    private static HttpServer server;
+
+    /**
+     * Record how long a step took
+     * @param step Step name, e.g. "Add Race click" or "Excel append"
+     * @param millis Duration in milliseconds
+     */
+    public static void record(String step, long millis) {
+        histograms.computeIfAbsent(step, k -> new Histogram()).record(Math.max(0, millis));
+    }
+
+    /**
+     * Count a step that timed out. Kept out of the histograms, which only hold steps that finished.
+     * @param step Step name
+     */
+    public static void recordTimeout(String step) {
+        timeouts.computeIfAbsent(step, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Serve the histograms on http://localhost:port/metrics
+     * @param port Port to listen on
+     */
+    public static synchronized void startServer(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/metrics", exchange -> {
+                byte[] body = toPrometheus().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream output = exchange.getResponseBody()) {
+                    output.write(body);
+                }
+            });
+            server.start();
+            System.out.println("📊 Step metrics available at http://localhost:" + port + "/metrics");
+        } catch (IOException e) {
+            System.err.println("❌ Could not start metrics endpoint on port " + port + ": " + e.getMessage());
+            server = null;
+        }
+    }
+
+    public static synchronized void stopServer() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    /**
+     * Render all histograms in the Prometheus text exposition format
+     */
+    public static String toPrometheus() {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        out.println("# HELP " + METRIC_NAME + " Time spent in each named form step");
+        out.println("# TYPE " + METRIC_NAME + " histogram");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            String step = escapeLabel(entry.getKey());
+            Histogram histogram = entry.getValue();
+            for (double bucket : PROMETHEUS_BUCKETS) {
+                out.println(METRIC_NAME + "_bucket{step=\"" + step + "\",le=\"" + bucket + "\"} "
+                        + histogram.countAtOrBelow((long) (bucket * 1000)));
+            }
+            out.println(METRIC_NAME + "_bucket{step=\"" + step + "\",le=\"+Inf\"} " + histogram.count());
+            out.println(METRIC_NAME + "_sum{step=\"" + step + "\"} " + histogram.sum() / 1000.0);
+            out.println(METRIC_NAME + "_count{step=\"" + step + "\"} " + histogram.count());
+        }
+        out.println("# HELP " + TIMEOUT_METRIC_NAME + " Times each named form step timed out");
+        out.println("# TYPE " + TIMEOUT_METRIC_NAME + " counter");
+        for (Map.Entry<String, AtomicLong> entry : new TreeMap<>(timeouts).entrySet()) {
+            out.println(TIMEOUT_METRIC_NAME + "{step=\"" + escapeLabel(entry.getKey()) + "\"} " + entry.getValue().get());
+        }
+        out.flush();
+        return text.toString();
+    }
+
+    /**
+     * Write count, mean, percentiles and the non-empty buckets of every step, and the timeouts per step,
+     * to step-metrics.json
+     */
+    public static void writeJson() {
+        try (Writer out = Files.newBufferedWriter(Paths.get(METRICS_FILE_NAME), StandardCharsets.UTF_8)) {
+            out.write("{\n  \"steps\": {");
+            boolean first = true;
+            for (Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+                Histogram histogram = entry.getValue();
+                long count = histogram.count();
+                out.write(first ? "\n" : ",\n");
+                first = false;
+                out.write("    \"" + escapeJson(entry.getKey()) + "\": {");
+                out.write("\"count\": " + count);
+                out.write(", \"meanMs\": " + (count == 0 ? 0 : histogram.sum() / count));
+                out.write(", \"p50Ms\": " + histogram.percentile(50));
+                out.write(", \"p90Ms\": " + histogram.percentile(90));
+                out.write(", \"p99Ms\": " + histogram.percentile(99));
+                out.write(", \"maxMs\": " + histogram.max());
+                out.write(", \"buckets\": [");
+                boolean firstBucket = true;
+                for (int i = 0; i < Histogram.BUCKETS; i++) {
+                    long bucketCount = histogram.bucketCount(i);
+                    if (bucketCount > 0) {
+                        out.write((firstBucket ? "" : ", ") + "[" + Histogram.upperBound(i) + ", " + bucketCount + "]");
+                        firstBucket = false;
+                    }
+                }
+                out.write("]}");
+            }
+            out.write("\n  },\n  \"timeouts\": {");
+            first = true;
+            for (Map.Entry<String, AtomicLong> entry : new TreeMap<>(timeouts).entrySet()) {
+                out.write(first ? "\n" : ",\n");
+                first = false;
+                out.write("    \"" + escapeJson(entry.getKey()) + "\": " + entry.getValue().get());
+            }
+            out.write("\n  }\n}\n");
+            System.out.println("✅ Step metrics written to " + METRICS_FILE_NAME);
+        } catch (IOException e) {
+            System.err.println("❌ Error writing step metrics: " + e.getMessage());
+        }
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeJson(String value) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * HDR-style histogram of millisecond values: exact below 16 ms, then 16 linear sub-buckets per
+     * power of two, so every bucket is within about 6% of the values it holds. Lock-free to record.
+     */
+    private static class Histogram {
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        void record(long millis) {
+            counts.incrementAndGet(indexOf(millis));
+            count.incrementAndGet();
+            sum.addAndGet(millis);
+            max.accumulateAndGet(millis, Math::max);
+        }
+
+        static int indexOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int magnitude = 63 - Long.numberOfLeadingZeros(value);
+            int shift = magnitude - SUB_BUCKET_BITS;
+            int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+            return (shift + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        /**
+         * Largest value that falls into a bucket
+         */
+        static long upperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int shift = index / SUB_BUCKETS - 1;
+            long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+            return lower + (1L << shift) - 1;
+        }
+
+        long count() {
+            return count.get();
+        }
+
+        long sum() {
+            return sum.get();
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        long bucketCount(int index) {
+            return counts.get(index);
+        }
+
+        long countAtOrBelow(long millis) {
+            long total = 0;
+            for (int i = 0; i < BUCKETS && upperBound(i) <= millis; i++) {
+                total += counts.get(i);
+            }
+            return total;
+        }
+
+        long percentile(double percentile) {
+            long total = count.get();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100.0 * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max.get());
+                }
+            }
+            return max.get();
+        }
+    }
+}
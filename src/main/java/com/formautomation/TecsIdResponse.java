@@ -0,0 +1,92 @@
+package com.formautomation;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the TECS ID from the JSON response to the create request, so it can be captured from the network
+ * instead of scraped from the confirmation page. Only a field named like a TECS ID, or a value with the
+ * exact TECS ID format, is accepted; other responses are ignored rather than guessed at.
+ */
+public class TecsIdResponse {
+
+    private static final Pattern TECS_ID_FORMAT = Pattern.compile("P[0-9A-Z]{2}[0-9]{8}[A-Z0-9]{2}");
+    private static final Pattern TECS_ID_FIELD = Pattern.compile("tecs_?id", Pattern.CASE_INSENSITIVE);
+
+    private static final Json JSON = new Json();
+
+    /**
+     * Extractor for BrowserEngine.captureResponses
+     * @param field JSON field holding the ID, or empty to look for any field named like tecsId
+     */
+    public static Function<String, String> extractor(String field) {
+        return body -> findTecsId(body, field);
+    }
+
+    /**
+     * Find the TECS ID in a response body
+     * @param field JSON field holding the ID, or empty to look for any field named like tecsId
+     * @return The ID, or null if the body is not JSON or holds no TECS ID
+     */
+    public static String findTecsId(String body, String field) {
+        if (body == null || body.isEmpty()) {
+            return null;
+        }
+        Object json;
+        try {
+            json = JSON.toType(body, Object.class);
+        } catch (JsonException e) {
+            return null;
+        }
+        String byField = findByField(json, field);
+        return byField != null ? byField : findByFormat(json);
+    }
+
+    private static String findByField(Object json, String field) {
+        if (json instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) json).entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                boolean named = field.isEmpty() ? TECS_ID_FIELD.matcher(key).matches() : field.equals(key);
+                boolean scalar = entry.getValue() instanceof String || entry.getValue() instanceof Number;
+                if (named && scalar && !String.valueOf(entry.getValue()).trim().isEmpty()) {
+                    return String.valueOf(entry.getValue()).trim();
+                }
+                String nested = findByField(entry.getValue(), field);
+                if (nested != null) {
+                    return nested;
+                }
+            }
+        } else if (json instanceof List) {
+            for (Object item : (List<?>) json) {
+                String nested = findByField(item, field);
+                if (nested != null) {
+                    return nested;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String findByFormat(Object json) {
+        if (json instanceof String) {
+            String value = ((String) json).trim();
+            return TECS_ID_FORMAT.matcher(value).matches() ? value : null;
+        }
+        Iterable<?> children = json instanceof Map ? ((Map<?, ?>) json).values()
+                : json instanceof List ? (List<?>) json : null;
+        if (children != null) {
+            for (Object child : children) {
+                String found = findByFormat(child);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,260 @@
+package com.formautomation;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end throughput against the local form fixture: runs/hour, run latency percentiles,
+ * Chrome memory per session and JVM heap, written to a JSON file so changes to FormFiller can be compared.
+ * Every run goes through FormAutomation.performSingleRun exactly as in a batch, with its own journal file,
+ * and without the rate limiter, Excel writes or email.
+ *
+ * Usage: ThroughputBenchmark [runs] [concurrency]; everything else comes from email-config.properties.
+ */
+public class ThroughputBenchmark {
+
+    private static final long MEMORY_SAMPLE_INTERVAL_MS = 1000;
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    public static void main(String[] args) throws Exception {
+        EmailService config = new EmailService();
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : config.getBenchmarkRuns();
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : config.getBenchmarkConcurrency();
+        int warmupRuns = config.getBenchmarkWarmupRuns();
+
+        FixtureServer fixture = new FixtureServer(config.getFixtureLatencyMs(), config.getFixtureJitterMs(),
+                config.getFixtureRenderDelayMs());
+        if (!fixture.start(config.getFixturePort())) {
+            return;
+        }
+
+        File journalFile = File.createTempFile("benchmark-journal", ".log");
+        journalFile.deleteOnExit();
+        RunJournal journal = new RunJournal(journalFile);
+        journal.open(true, warmupRuns + runs);
+        RetryPolicy.configure(config);
+        FormAutomation.prepareBrowserRuns(config, fixture.getStartUrl(), journal);
+
+        MemorySampler memory = new MemorySampler();
+        Map<String, Object> results = new LinkedHashMap<>();
+        try {
+            if (warmupRuns > 0) {
+                System.out.println("🔥 Warming up with " + warmupRuns + " run(s)");
+                runBatch(1, warmupRuns, concurrency, new ConcurrentLinkedQueue<>());
+            }
+
+            System.out.println("⏱️ Measuring " + runs + " run(s) at concurrency " + concurrency);
+            ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+            memory.start();
+            long start = System.currentTimeMillis();
+            Map<Integer, Boolean> outcomes = runBatch(warmupRuns + 1, runs, concurrency, latencies);
+            long elapsedMs = System.currentTimeMillis() - start;
+            memory.stop();
+
+            long succeeded = outcomes.values().stream().filter(Boolean::booleanValue).count();
+            results.put("engine", config.getBrowserEngine());
+            results.put("browserProfile", config.isBatchBrowserProfile() ? "batch" : "interactive");
+            results.put("runs", runs);
+            results.put("warmupRuns", warmupRuns);
+            results.put("concurrency", concurrency);
+            results.put("fixtureLatencyMs", config.getFixtureLatencyMs());
+            results.put("fixtureJitterMs", config.getFixtureJitterMs());
+            results.put("fixtureRenderDelayMs", config.getFixtureRenderDelayMs());
+            results.put("succeeded", succeeded);
+            results.put("failed", runs - succeeded);
+            results.put("elapsedMs", elapsedMs);
+            results.put("runsPerHour", Math.round(succeeded * 3_600_000.0 / Math.max(1, elapsedMs)));
+            results.put("runLatencyMs", latencySummary(latencies));
+            results.put("memory", memory.summary(concurrency));
+        } finally {
+            FormAutomation.shutdownBrowsers();
+            journal.close();
+            fixture.stop();
+        }
+
+        write(Paths.get(config.getBenchmarkOutput()), results);
+        StepMetrics.writeJson();
+        System.out.println("🏁 " + results.get("runsPerHour") + " runs/hour, p50 "
+                + ((Map<?, ?>) results.get("runLatencyMs")).get("p50") + "ms, p99 "
+                + ((Map<?, ?>) results.get("runLatencyMs")).get("p99") + "ms");
+    }
+
+    /**
+     * Generate data for and perform a range of runs, recording how long each took
+     */
+    private static Map<Integer, Boolean> runBatch(int firstRun, int count, int concurrency, ConcurrentLinkedQueue<Long> latencies) {
+        List<Integer> runNumbers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            runNumbers.add(firstRun + i);
+        }
+        return new ParallelRunExecutor(concurrency).execute(runNumbers, runNumber -> {
+            RunContext run = new RunContext(runNumber);
+            run.setPersonData(DataGenerator.generatePersonData());
+            long start = System.currentTimeMillis();
+            boolean success = FormAutomation.performSingleRun(run);
+            latencies.add(System.currentTimeMillis() - start);
+            return success;
+        });
+    }
+
+    private static Map<String, Object> latencySummary(ConcurrentLinkedQueue<Long> latencies) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", sorted.length);
+        summary.put("mean", sorted.length == 0 ? 0 : Math.round(Arrays.stream(sorted).average().orElse(0)));
+        for (double percentile : PERCENTILES) {
+            summary.put("p" + (int) percentile, percentileOf(sorted, percentile));
+        }
+        summary.put("max", sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+        return summary;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values
+     */
+    static long percentileOf(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.min(sorted.length - 1, Math.max(0, rank - 1))];
+    }
+
+    private static void write(Path output, Map<String, Object> results) {
+        try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            out.write(new Json().toJson(results));
+            out.write("\n");
+            System.out.println("✅ Benchmark results written to " + output);
+        } catch (IOException e) {
+            System.err.println("❌ Error writing benchmark results: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Samples the memory of the Chrome processes this JVM started, and its own heap, once a second.
+     * Chrome memory is read from /proc, so it is only reported on Linux. RSS counts pages shared between
+     * Chrome's processes once per process; PSS splits them, so its total is what the sessions really cost.
+     */
+    private static class MemorySampler {
+        private final MemoryMXBean heap = ManagementFactory.getMemoryMXBean();
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "benchmark-memory");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private long samples;
+        private long peakChromeRssKb;
+        private long peakChromePssKb;
+        private long totalChromeRssKb;
+        private long peakBrowsers;
+        private long peakHeapUsed;
+        private long totalHeapUsed;
+        private final boolean procAvailable = Files.isDirectory(Paths.get("/proc/self"));
+
+        void start() {
+            scheduler.scheduleAtFixedRate(this::sample, 0, MEMORY_SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() throws InterruptedException {
+            scheduler.shutdown();
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        private synchronized void sample() {
+            long rssKb = 0;
+            long pssKb = 0;
+            long browsers = 0;
+            if (procAvailable) {
+                for (ProcessHandle process : (Iterable<ProcessHandle>) ProcessHandle.current().descendants()::iterator) {
+                    String commandLine = readProc(process.pid(), "cmdline").replace('\0', ' ');
+                    if (!isChrome(commandLine)) {
+                        continue;
+                    }
+                    // Renderers, GPU and utility processes carry a --type; the browser process of a session does not
+                    if (!commandLine.contains("--type=")) {
+                        browsers++;
+                    }
+                    rssKb += procField(process.pid(), "status", "VmRSS:");
+                    pssKb += procField(process.pid(), "smaps_rollup", "Pss:");
+                }
+            }
+            long heapUsed = heap.getHeapMemoryUsage().getUsed();
+
+            samples++;
+            peakChromeRssKb = Math.max(peakChromeRssKb, rssKb);
+            peakChromePssKb = Math.max(peakChromePssKb, pssKb);
+            totalChromeRssKb += rssKb;
+            peakBrowsers = Math.max(peakBrowsers, browsers);
+            peakHeapUsed = Math.max(peakHeapUsed, heapUsed);
+            totalHeapUsed += heapUsed;
+        }
+
+        synchronized Map<String, Object> summary(int concurrency) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("samples", samples);
+            if (procAvailable) {
+                long sessions = Math.max(1, peakBrowsers > 0 ? peakBrowsers : concurrency);
+                summary.put("chromeProcessesPeakSessions", peakBrowsers);
+                summary.put("chromeRssPeakMb", peakChromeRssKb / 1024);
+                summary.put("chromeRssMeanMb", samples == 0 ? 0 : totalChromeRssKb / samples / 1024);
+                summary.put("chromePssPeakMb", peakChromePssKb / 1024);
+                summary.put("chromeRssPerSessionMb", peakChromeRssKb / sessions / 1024);
+                summary.put("chromePssPerSessionMb", peakChromePssKb / sessions / 1024);
+            }
+            summary.put("jvmHeapPeakMb", peakHeapUsed / (1024 * 1024));
+            summary.put("jvmHeapMeanMb", samples == 0 ? 0 : totalHeapUsed / samples / (1024 * 1024));
+            summary.put("jvmHeapMaxMb", heap.getHeapMemoryUsage().getMax() / (1024 * 1024));
+            return summary;
+        }
+
+        private static boolean isChrome(String commandLine) {
+            String executable = commandLine.split(" ", 2)[0].toLowerCase();
+            return (executable.contains("chrome") || executable.contains("chromium") || executable.contains("headless_shell"))
+                    && !executable.contains("chromedriver");
+        }
+
+        /**
+         * Value in kB of a "Name:   1234 kB" line of a /proc file, 0 if the process is gone or the file is unreadable
+         */
+        private static long procField(long pid, String file, String name) {
+            for (String line : readProc(pid, file).split("\n")) {
+                if (line.startsWith(name)) {
+                    String[] parts = line.substring(name.length()).trim().split("\\s+");
+                    try {
+                        return Long.parseLong(parts[0]);
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+            return 0;
+        }
+
+        private static String readProc(long pid, String file) {
+            try {
+                return new String(Files.readAllBytes(Paths.get("/proc", String.valueOf(pid), file)), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                return "";
+            }
+        }
+    }
+}
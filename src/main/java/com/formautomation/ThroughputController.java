@@ -0,0 +1,145 @@
+package com.formautomation;
+
+/**
+ * Steers the number of concurrently running browser workers toward a forms-per-hour target (AIMD).
+ * After each measurement window it adds one worker while below target, removes one when well above it,
+ * and halves the worker count when the error rate or the p99 submission latency rises.
+ */
+public class ThroughputController {
+
+    private static final double MAX_ERROR_RATE = 0.2;        // Failure share that counts as overload
+    private static final double LATENCY_TOLERANCE = 1.5;     // Allowed p99 growth over the best window seen
+    private static final double OVERSHOOT = 1.1;             // Throughput above target * overshoot sheds a worker
+
+    private final String submitLatencyStep;
+    private final double targetPerHour;
+    private final int minWorkers;
+    private final int maxWorkers;
+
+    private int limit;
+    private int active;
+    private int peak;
+
+    // Current measurement window
+    private long windowStart;
+    private long windowSampleStart;
+    private int windowSuccesses;
+    private int windowFailures;
+    private long baselineP99;
+
+    /**
+     * @param targetPerHour Successful forms per hour to aim for
+     * @param initialWorkers Workers to start with
+     * @param maxWorkers Upper bound on concurrent workers
+     * @param submitLatencyStep Step whose p99 is the submission latency, e.g. FormAutomation.TECS_CONFIRMATION_STEP
+     */
+    public ThroughputController(double targetPerHour, int initialWorkers, int maxWorkers, String submitLatencyStep) {
+        this.submitLatencyStep = submitLatencyStep;
+        this.targetPerHour = targetPerHour;
+        this.minWorkers = 1;
+        this.maxWorkers = Math.max(1, maxWorkers);
+        this.limit = Math.max(minWorkers, Math.min(this.maxWorkers, initialWorkers));
+        this.peak = limit;
+        startWindow();
+    }
+
+    /**
+     * Block until the current concurrency limit leaves room for another run
+     */
+    public synchronized void acquire() throws InterruptedException {
+        while (active >= limit) {
+            wait();
+        }
+        active++;
+    }
+
+    /**
+     * Report a finished run and free its slot; may adjust the concurrency limit
+     */
+    public synchronized void release(boolean success) {
+        active--;
+        if (success) {
+            windowSuccesses++;
+        } else {
+            windowFailures++;
+        }
+
+        // Let every worker at the current level finish a run before judging it
+        if (windowSuccesses + windowFailures >= limit) {
+            adjust();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Free the slot of a run that never ran, e.g. because its worker was interrupted, without counting a result
+     */
+    public synchronized void abandon() {
+        active--;
+        notifyAll();
+    }
+
+    private void adjust() {
+        long elapsed = Math.max(1, System.currentTimeMillis() - windowStart);
+        int completed = windowSuccesses + windowFailures;
+        double throughput = windowSuccesses * 3_600_000.0 / elapsed;
+        double errorRate = (double) windowFailures / completed;
+
+        int newSamples = (int) Math.min(Integer.MAX_VALUE, StepLatencyTracker.sampleCount(submitLatencyStep) - windowSampleStart);
+        long p99 = newSamples > 0 ? StepLatencyTracker.recentPercentile(submitLatencyStep, 99, newSamples) : 0;
+        boolean latencyRising = p99 > 0 && baselineP99 > 0 && p99 > baselineP99 * LATENCY_TOLERANCE;
+
+        int previous = limit;
+        String reason;
+        if (errorRate > MAX_ERROR_RATE || latencyRising) {
+            limit = Math.max(minWorkers, limit / 2);
+            reason = errorRate > MAX_ERROR_RATE
+                    ? Math.round(errorRate * 100) + "% errors"
+                    : "p99 submit " + p99 + "ms vs " + baselineP99 + "ms baseline";
+        } else {
+            if (p99 > 0) {
+                baselineP99 = baselineP99 == 0 ? p99 : Math.min(baselineP99, p99);
+            }
+            if (throughput < targetPerHour) {
+                limit = Math.min(maxWorkers, limit + 1);
+                reason = "below target";
+            } else if (throughput > targetPerHour * OVERSHOOT) {
+                limit = Math.max(minWorkers, limit - 1);
+                reason = "above target";
+            } else {
+                reason = "on target";
+            }
+        }
+        peak = Math.max(peak, limit);
+
+        String arrow = limit > previous ? "📈" : limit < previous ? "📉" : "➡️";
+        System.out.println(arrow + " Throughput " + Math.round(throughput) + "/h (target " + Math.round(targetPerHour)
+                + "/h), " + reason + ": workers " + previous + " → " + limit);
+        startWindow();
+    }
+
+    private void startWindow() {
+        windowStart = System.currentTimeMillis();
+        windowSampleStart = StepLatencyTracker.sampleCount(submitLatencyStep);
+        windowSuccesses = 0;
+        windowFailures = 0;
+    }
+
+    /**
+     * Concurrency level the controller has settled on
+     */
+    public synchronized int getConcurrency() {
+        return limit;
+    }
+
+    /**
+     * Highest concurrency level used during the batch
+     */
+    public synchronized int getPeakConcurrency() {
+        return peak;
+    }
+
+    public double getTargetPerHour() {
+        return targetPerHour;
+    }
+}
@@ -0,0 +1,182 @@
+package com.formautomation;
+
+import com.paulhammant.ngwebdriver.NgWebDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Condition-based waits that return as soon as the page is ready, replacing fixed sleeps.
+ * Every wait is named after the form step it guards so timeouts can be tuned per step.
+ * Once StepLatencyTracker has enough samples for a step, its timeout follows the observed p99.
+ */
+public class WaitEngine {
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    // Overlays and option panels opened by Angular Material
+    static final String OPEN_OVERLAY_SCRIPT =
+            "var panes = document.querySelectorAll('.mat-select-panel, .cdk-overlay-backdrop-showing, .mat-dialog-container');" +
+                    "for (var i = 0; i < panes.length; i++) {" +
+                    "  if (panes[i].offsetParent !== null && panes[i].style.display !== 'none') return true;" +
+                    "}" +
+                    "return false;";
+
+    private static final Map<String, Duration> stepTimeouts = new ConcurrentHashMap<>();
+
+    static {
+        // Full page loads take much longer than a single control
+        stepTimeouts.put("Target page load", Duration.ofSeconds(30));
+        stepTimeouts.put("Target page load angular", Duration.ofSeconds(30));
+        stepTimeouts.put("Second page load", Duration.ofSeconds(30));
+        stepTimeouts.put("Second page load angular", Duration.ofSeconds(30));
+        stepTimeouts.put("Search results angular", Duration.ofSeconds(20));
+        stepTimeouts.put("TECS ID confirmation", Duration.ofSeconds(20));
+        stepTimeouts.put("TECS ID response", Duration.ofSeconds(20));
+    }
+
+    /**
+     * Get the timeout for a named step
+     * @param step Step name
+     * @return The calibrated timeout if the step has enough history, else the configured or default timeout
+     */
+    public static Duration timeoutFor(String step) {
+        Duration calibrated = StepLatencyTracker.calibratedTimeout(step);
+        if (calibrated != null) {
+            return calibrated;
+        }
+        return stepTimeouts.getOrDefault(step, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Wait until the condition returns a non-null, non-false value
+     * @throws TimeoutException if the condition is not met within the step's timeout
+     */
+    public static <T> T until(WebDriver driver, String step, Function<WebDriver, T> condition) {
+        return until(driver, step, timeoutFor(step), condition);
+    }
+
+    /**
+     * Wait until the condition returns a non-null, non-false value using an explicit timeout
+     * @throws TimeoutException if the condition is not met within the timeout
+     */
+    public static <T> T until(WebDriver driver, String step, Duration timeout, Function<WebDriver, T> condition) {
+        WebDriverWait wait = new WebDriverWait(driver, timeout, POLL_INTERVAL);
+        wait.ignoring(NoSuchElementException.class)
+                .ignoring(StaleElementReferenceException.class)
+                .ignoring(JavascriptException.class)
+                .withMessage("step '" + step + "'");
+
+        long start = System.currentTimeMillis();
+        try {
+            T result = wait.until(condition);
+            StepLatencyTracker.record(step, System.currentTimeMillis() - start);
+            return result;
+        } catch (TimeoutException e) {
+            StepLatencyTracker.recordTimeout(step);
+            throw e;
+        }
+    }
+
+    /**
+     * Same as until, but reports a timeout as false instead of throwing
+     * @return true if the condition was met in time
+     */
+    public static boolean tryUntil(WebDriver driver, String step, Function<WebDriver, ?> condition) {
+        try {
+            until(driver, step, condition);
+            return true;
+        } catch (TimeoutException e) {
+            System.out.println("⏱️ Timed out after " + timeoutFor(step).toMillis() + " ms waiting for: " + step);
+            return false;
+        }
+    }
+
+    public static WebElement untilVisible(WebDriver driver, String step, By by) {
+        return until(driver, step, ExpectedConditions.visibilityOfElementLocated(by));
+    }
+
+    /**
+     * Wait until a script returns a truthy value
+     * @param script JavaScript body ending in a return statement, may use arguments[n]
+     * @return true if the script became truthy in time
+     */
+    public static boolean untilScript(WebDriver driver, String step, String script, Object... args) {
+        return tryUntil(driver, step, d -> {
+            Object result = executeScript(d, step, script, args);
+            return result != null && !Boolean.FALSE.equals(result);
+        });
+    }
+
+    /**
+     * Run one poll of a waited-on script, recording the round-trip as a Flight Recorder ScriptEvent
+     */
+    private static Object executeScript(WebDriver driver, String step, String script, Object... args) {
+        ScriptEvent event = ScriptEvent.start(step, ScriptEvent.selectorOf(args), script);
+        Throwable error = null;
+        try {
+            return ((JavascriptExecutor) driver).executeScript(script, args);
+        } catch (RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            event.finish(error);
+        }
+    }
+
+    /**
+     * Wait until no Material select panel, dialog or backdrop is open
+     */
+    public static boolean untilOverlaysClosed(WebDriver driver, String step) {
+        return untilScript(driver, step, "return !(function() {" + OPEN_OVERLAY_SCRIPT + "})();");
+    }
+
+    /**
+     * Wait until the document has loaded and Angular has no pending requests or timers
+     */
+    public static boolean untilPageReady(WebDriver driver, String step) {
+        boolean loaded = untilScript(driver, step, "return document.readyState === 'complete';");
+        return loaded && untilAngularStable(driver, step);
+    }
+
+    /**
+     * Wait until Angular reports itself stable through ngWebDriver.
+     * Pages without Angular count as stable.
+     */
+    public static boolean untilAngularStable(WebDriver driver, String step) {
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        Duration previousScriptTimeout = timeouts.getScriptTimeout();
+        String angularStep = step + " angular";
+        Duration timeout = timeoutFor(angularStep);
+        long start = System.currentTimeMillis();
+        try {
+            // ngWebDriver waits through an async script, so bound it by the step's timeout
+            timeouts.scriptTimeout(timeout);
+            new NgWebDriver((JavascriptExecutor) driver).waitForAngularRequestsToFinish();
+            StepLatencyTracker.record(angularStep, System.currentTimeMillis() - start);
+            return true;
+        } catch (org.openqa.selenium.ScriptTimeoutException e) {
+            StepLatencyTracker.recordTimeout(angularStep);
+            System.out.println("⏱️ Angular still busy after " + timeout.toMillis() + " ms: " + step);
+            return false;
+        } catch (Exception e) {
+            // No Angular testability on this page, nothing to wait for
+            return true;
+        } finally {
+            timeouts.scriptTimeout(previousScriptTimeout);
+        }
+    }
+}
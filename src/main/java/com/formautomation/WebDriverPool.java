@@ -0,0 +1,169 @@
+package com.formautomation;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Pool of warm browser sessions that are reused across runs instead of launching Chrome every time
+ */
+public class WebDriverPool {
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int maxRunsPerSession;
+    private final BlockingQueue<WebDriver> idleSessions = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, Integer> runCounts = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * @param driverFactory Creates a new browser session, returning null on failure
+     * @param maxRunsPerSession Number of runs after which a session is replaced by a fresh one
+     */
+    public WebDriverPool(Supplier<WebDriver> driverFactory, int maxRunsPerSession) {
+        this.driverFactory = driverFactory;
+        this.maxRunsPerSession = Math.max(1, maxRunsPerSession);
+    }
+
+    /**
+     * Check out a healthy session, reusing an idle one when available
+     * @return WebDriver ready for a run, or null if a new session could not be started or the pool is shut down
+     */
+    public WebDriver checkout() {
+        if (closed) {
+            return null;
+        }
+        WebDriver driver;
+        while ((driver = idleSessions.poll()) != null) {
+            if (isHealthy(driver)) {
+                System.out.println("♻️ Reusing warm browser session (" + runCounts.get(driver) + " run(s) so far)");
+                return driver;
+            }
+            System.out.println("⚠️ Idle browser session failed health check, discarding it");
+            discard(driver);
+        }
+
+        driver = driverFactory.get();
+        if (driver != null) {
+            runCounts.put(driver, 0);
+        }
+        return driver;
+    }
+
+    /**
+     * Return a session to the pool after a run
+     * @param driver The session checked out for the run
+     * @param runFailed true if the run failed, in which case the session is recycled
+     */
+    public void release(WebDriver driver, boolean runFailed) {
+        if (driver == null) {
+            return;
+        }
+
+        int runs = runCounts.merge(driver, 1, Integer::sum);
+        if (closed) {
+            System.out.println("🔁 Closing browser session released after the pool shut down");
+            discard(driver);
+            return;
+        }
+        if (runFailed) {
+            System.out.println("🔁 Recycling browser session after failed run");
+            discard(driver);
+            return;
+        }
+        if (runs >= maxRunsPerSession) {
+            System.out.println("🔁 Recycling browser session after " + runs + " run(s)");
+            discard(driver);
+            return;
+        }
+
+        if (resetSession(driver)) {
+            synchronized (this) {
+                // shutdown() may have drained the pool while the session was being reset
+                if (!closed) {
+                    idleSessions.offer(driver);
+                    return;
+                }
+            }
+            discard(driver);
+        } else {
+            System.out.println("⚠️ Could not reset browser session, discarding it");
+            discard(driver);
+        }
+    }
+
+    /**
+     * Quit every idle session. Sessions still checked out are quit when released.
+     */
+    public void shutdown() {
+        List<WebDriver> remaining = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            idleSessions.drainTo(remaining);
+        }
+        for (WebDriver driver : remaining) {
+            discard(driver);
+        }
+        System.out.println("Browser session pool shut down (" + remaining.size() + " session(s) closed)");
+    }
+
+    /**
+     * Clear cookies, storage and extra tabs so the next run starts from a clean state
+     */
+    private boolean resetSession(WebDriver driver) {
+        try {
+            // Close any tabs the form opened and go back to the first one
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            // Storage is per-origin, so clear it while still on the last visited page
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); } catch (e) {}" +
+                            "try { window.sessionStorage.clear(); } catch (e) {}"
+            );
+
+            if (driver instanceof ChromiumDriver) {
+                // Clears cookies for every domain, not just the current one
+                ((ChromiumDriver) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            System.out.println("Error resetting browser session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            ((JavascriptExecutor) driver).executeScript("return 1;");
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private void discard(WebDriver driver) {
+        runCounts.remove(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.out.println("Error quitting browser session: " + e.getMessage());
+        }
+    }
+}
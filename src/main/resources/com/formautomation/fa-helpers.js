@@ -0,0 +1,433 @@
+/*
+ * Page-side helpers for the form filler, installed once per page as window.__fa and called by name
+ * through PageHelpers.call. This file is a script body like any other executeScript source:
+ * arguments[0] is the bundle version PageHelpers checks before every call.
+ *
+ * Elements are described by targets instead of code:
+ *   {by: 'id', key: id}                id or data-input-id
+ *   {by: 'label', key: text}           control in the last visible mat-form-field whose mat-label contains the text
+ *   {by: 'text' | 'date' | 'select', position: n}
+ *                                      nth visible text input, date input or enabled mat-select from the end, 1 = last
+ *   {by: 'css', key: selector, position: n, empty: bool}
+ *                                      first match, or nth from the end when position > 0; empty skips filled inputs
+ *
+ * Dropdown choices are {mode: 'id' | 'text', value: ...}, {mode: 'random', skipFirst: bool} or {mode: 'first'}.
+ */
+var TEXT_INPUTS = 'input.mat-input-element:not([readonly]):not([disabled]):not([mask])';
+var DATE_INPUTS = 'input[mask="00/00/0000"]';
+var SELECTS = 'mat-select:not([aria-disabled="true"])';
+var OPEN_OVERLAYS = '.mat-select-panel, .cdk-overlay-backdrop-showing, .mat-dialog-container';
+var CLOSABLE_OVERLAYS = '.cdk-overlay-backdrop, .mat-dialog-container, .cdk-overlay-pane';
+
+var CONFIRMATION = '.tecs-submitted-message, .tecs-flex-item, .success, .confirmation';
+
+// TECS ID patterns in priority order, each tried on the confirmation text before the rest of the page
+var TECS_ID_PATTERNS = [
+    {strategy: 'TECS ID label', confidence: 0.95, pattern: /TECS\s+ID\s*:\s*([A-Z0-9]{10,20})/i},
+    {strategy: 'P3G pattern', confidence: 0.85, pattern: /\b(P[0-9A-Z]{2}[0-9]{8}[A-Z0-9]{2})\b/}
+];
+var CREATED_MESSAGE = /created|successfully/ig;
+var CREATED_ID = /\b([A-Z][0-9A-Z]{10,20})\b/;
+var ANY_ID = /\b[A-Z][A-Z0-9]{9,}\b/g;
+var NOT_AN_ID = /^(SUBMITTED|CREATED|SUCCESSFULLY|UNCLASSIFIED)$/i;
+
+// Open control watches by id, see watchControls
+var watches = {};
+var nextWatchId = 1;
+
+function all(selector) {
+    return Array.prototype.slice.call(document.querySelectorAll(selector));
+}
+
+function visible(element) {
+    return element.offsetWidth > 0 && element.offsetHeight > 0;
+}
+
+function fromEnd(list, position) {
+    return position > 0 && list.length >= position ? list[list.length - position] : null;
+}
+
+function ensureId(element, prefix) {
+    if (!element.id) {
+        element.id = 'auto-' + prefix + '-' + Date.now() + '-' + Math.random().toString(36).substr(2, 9);
+    }
+    return element.id;
+}
+
+function sleep(ms) {
+    return new Promise(function (resolve) { setTimeout(resolve, ms); });
+}
+
+function controls(kind) {
+    if (kind === 'text') return all(TEXT_INPUTS).filter(visible);
+    if (kind === 'date') return all(DATE_INPUTS).filter(visible);
+    return all(SELECTS);
+}
+
+function kindOf(element) {
+    if (element.matches(SELECTS)) return 'select';
+    if (element.matches(DATE_INPUTS)) return 'date';
+    if (element.matches(TEXT_INPUTS)) return 'text';
+    return 'other';
+}
+
+function locate(target, wantSelect) {
+    if (target.by === 'id') {
+        return document.getElementById(target.key)
+            || document.querySelector('[data-input-id="' + CSS.escape(target.key) + '"]');
+    }
+    if (target.by === 'label') {
+        var labels = all('mat-label').filter(function (l) {
+            return l.textContent.trim().includes(target.key) && l.offsetParent !== null;
+        });
+        if (labels.length === 0) return null;
+        var formField = labels[labels.length - 1].closest('mat-form-field');
+        return formField ? formField.querySelector(wantSelect ? 'mat-select' : 'input, textarea') : null;
+    }
+    if (target.by === 'css') {
+        var matches = all(target.key);
+        if (target.empty) {
+            matches = matches.filter(function (e) { return visible(e) && e.value === ''; });
+        }
+        return target.position > 0 ? fromEnd(matches, target.position) : matches[0] || null;
+    }
+    return fromEnd(controls(target.by), target.position);
+}
+
+/*
+ * Collect the page text in one walk over its text nodes, keeping the part inside
+ * confirmation elements apart. Chunks are joined with spaces so text from neighbouring
+ * elements never runs together the way textContent would.
+ */
+function readPageText() {
+    var confirmation = [];
+    var page = [];
+    var walker = document.createTreeWalker(document.body, NodeFilter.SHOW_TEXT);
+    for (var node = walker.nextNode(); node; node = walker.nextNode()) {
+        var text = node.nodeValue.trim();
+        if (!text) continue;
+        page.push(text);
+        if (node.parentElement && node.parentElement.closest(CONFIRMATION)) {
+            confirmation.push(text);
+        }
+    }
+    return {confirmation: confirmation.join(' '), page: page.join(' '), chunks: page};
+}
+
+/*
+ * Apply every TECS ID strategy to one snapshot of the page text and return the most
+ * trustworthy match as {id, strategy, confidence}, or {id: null, ...} with the text for debugging.
+ */
+function extractTecsId() {
+    var text = readPageText();
+    var scopes = [['confirmation', text.confirmation, 0.04], ['page', text.page, 0]];
+    for (var i = 0; i < TECS_ID_PATTERNS.length; i++) {
+        for (var j = 0; j < scopes.length; j++) {
+            var match = scopes[j][1].match(TECS_ID_PATTERNS[i].pattern);
+            if (match) {
+                return {id: match[1], strategy: TECS_ID_PATTERNS[i].strategy + ' (' + scopes[j][0] + ')',
+                    confidence: TECS_ID_PATTERNS[i].confidence + scopes[j][2]};
+            }
+        }
+    }
+
+    // An id close to a "created" or "successfully" message
+    var created;
+    CREATED_MESSAGE.lastIndex = 0;
+    while ((created = CREATED_MESSAGE.exec(text.page)) !== null) {
+        var nearby = text.page.substring(Math.max(0, created.index - 120), created.index + 120).match(CREATED_ID);
+        if (nearby) {
+            return {id: nearby[1], strategy: 'created message', confidence: 0.6};
+        }
+    }
+
+    // Any long upper-case token that is not a status word
+    var candidates = (text.page.match(ANY_ID) || []).filter(function (m) { return !NOT_AN_ID.test(m); });
+    if (candidates.length > 0) {
+        return {id: candidates[0], strategy: 'alphanumeric', confidence: 0.3};
+    }
+
+    return {
+        id: null, strategy: null, confidence: 0, pageText: text.page,
+        tecsText: text.chunks.filter(function (c) { return /tecs/i.test(c); }).join(' | ')
+    };
+}
+
+/*
+ * The confirmation counts as shown once a TECS ID pattern matches. Its container and a
+ * "created successfully" message can render before the ID itself does.
+ */
+function confirmationShown() {
+    var page = readPageText().page;
+    return TECS_ID_PATTERNS.some(function (p) { return p.pattern.test(page); });
+}
+
+function overlayOpen() {
+    return all(OPEN_OVERLAYS).some(function (p) {
+        return p.offsetParent !== null && p.style.display !== 'none';
+    });
+}
+
+function setValue(element, value, focus) {
+    if (focus) {
+        element.focus();
+    }
+    element.value = value;
+    element.dispatchEvent(new Event('input', {bubbles: true}));
+    element.dispatchEvent(new Event('change', {bubbles: true}));
+    if (focus) {
+        element.blur();
+    }
+}
+
+function choose(options, choice) {
+    if (choice.mode === 'id') {
+        var option = document.getElementById(choice.value);
+        return option && option.offsetParent !== null ? option : null;
+    }
+    if (choice.mode === 'text') {
+        return options.find(function (o) { return o.textContent.includes(choice.value); }) || null;
+    }
+    if (choice.mode === 'random') {
+        var first = choice.skipFirst && options.length > 1 ? 1 : 0;
+        return options[first + Math.floor(Math.random() * (options.length - first))];
+    }
+    return options[0];
+}
+
+/*
+ * Poll for the select, open it, then poll for its options and click the chosen one.
+ * Resolves to 'ok' or the reason nothing was picked.
+ */
+async function openAndPick(findSelect, choice, maxAttempts, pollMs) {
+    var select = null;
+    for (var attempt = 0; attempt <= maxAttempts; attempt++) {
+        if (!select) {
+            select = findSelect();
+            if (select) {
+                select.scrollIntoView({block: 'center'});
+                var trigger = select.querySelector('.mat-select-trigger');
+                if (trigger) { trigger.click(); } else { select.click(); }
+            }
+        } else {
+            var options = all('mat-option').filter(function (o) {
+                return o.offsetParent !== null && !o.classList.contains('mat-option-disabled') && o.textContent.trim().length > 0;
+            });
+            var option = options.length > 0 ? choose(options, choice) : null;
+            if (option) {
+                option.click();
+                document.body.click();
+                return 'ok';
+            }
+        }
+        await sleep(pollMs);
+    }
+    document.body.click();
+    return select ? 'no matching option' : 'select not found';
+}
+
+window.__fa = {
+    version: arguments[0],
+
+    /** Focus, set, fire input and change, blur. Returns false if the target is missing. */
+    fill: function (target, value) {
+        var element = locate(target, false);
+        if (!element) return false;
+        setValue(element, value, true);
+        return true;
+    },
+
+    /** Set the value and fire input and change without touching focus, for inputs that open pickers on focus. */
+    assign: function (target, value) {
+        var element = locate(target, false);
+        if (!element) return false;
+        setValue(element, value, false);
+        return true;
+    },
+
+    /** Fill the first target that exists. Returns the index of the target used, or -1. */
+    fillFirst: function (targets, value) {
+        for (var i = 0; i < targets.length; i++) {
+            var element = locate(targets[i], false);
+            if (element) {
+                element.click();
+                setValue(element, value, true);
+                return i;
+            }
+        }
+        return -1;
+    },
+
+    /** Id of the last text, date or select control, or null. */
+    findNewest: function (kind) {
+        var newest = fromEnd(controls(kind), 1);
+        return newest ? ensureId(newest, kind + '-newest') : null;
+    },
+
+    /** Id of the visible input with the mask at the index, or the last one when index is negative. */
+    findByMask: function (mask, index) {
+        var inputs = all('input[mask="' + CSS.escape(mask) + '"]').filter(visible);
+        var input = index >= 0 ? inputs[index] : inputs[inputs.length - 1];
+        return input ? ensureId(input, 'mask') : null;
+    },
+
+    /** Remove leftover backdrops and dialogs that would swallow a click. */
+    clearOverlays: function () {
+        all(CLOSABLE_OVERLAYS).forEach(function (o) {
+            if (o.style.display !== 'none') o.remove();
+        });
+        if (document.activeElement) document.activeElement.blur();
+        return true;
+    },
+
+    /** Dismiss any open dropdown panel. */
+    closeDropdowns: function () {
+        document.body.click();
+        if (document.activeElement) document.activeElement.blur();
+        document.dispatchEvent(new KeyboardEvent('keydown', {key: 'Escape'}));
+        all('.mat-select-panel, .cdk-overlay-pane').forEach(function (p) {
+            if (p.style.display !== 'none') p.style.display = 'none';
+        });
+        return true;
+    },
+
+    overlayOpen: overlayOpen,
+
+    /** Click the first element matching the selector if it is enabled. */
+    clickEnabled: function (selector) {
+        var element = document.querySelector(selector);
+        if (!element || element.disabled) return false;
+        element.click();
+        return true;
+    },
+
+    /**
+     * Start recording controls matching the selector as they are attached to the page.
+     * Call before the action that adds them, then collect them with awaitControls. Returns the watch id.
+     */
+    watchControls: function (selector) {
+        var watch = {added: [], notify: null};
+        var collect = function (element) {
+            if (watch.added.indexOf(element) < 0) watch.added.push(element);
+        };
+        watch.observer = new MutationObserver(function (records) {
+            records.forEach(function (record) {
+                record.addedNodes.forEach(function (node) {
+                    if (node.nodeType !== Node.ELEMENT_NODE) return;
+                    if (node.matches(selector)) collect(node);
+                    node.querySelectorAll(selector).forEach(collect);
+                });
+            });
+            if (watch.added.length > 0 && watch.notify) watch.notify();
+        });
+        watch.observer.observe(document.body, {childList: true, subtree: true});
+        var id = nextWatchId++;
+        watches[id] = watch;
+        return id;
+    },
+
+    /**
+     * Resolve as soon as the watched controls have been attached, or after timeoutMs.
+     * Controls attached in the same render are collected together. Resolves to
+     * {timedOut, select: [ids], text: [ids], date: [ids], other: [ids]} in document order,
+     * or null if the watch is unknown because the page changed since it started.
+     */
+    awaitControls: function (id, timeoutMs) {
+        var watch = watches[id];
+        if (!watch) return null;
+        return new Promise(function (resolve) {
+            var timer;
+            var finish = function (timedOut) {
+                clearTimeout(timer);
+                watch.observer.disconnect();
+                delete watches[id];
+                var result = {timedOut: timedOut, select: [], text: [], date: [], other: []};
+                watch.added.filter(function (e) { return e.isConnected; }).forEach(function (element) {
+                    var kind = kindOf(element);
+                    if (kind !== 'select' && kind !== 'other' && !visible(element)) return;
+                    result[kind].push(ensureId(element, kind + '-new'));
+                });
+                resolve(result);
+            };
+            timer = setTimeout(function () { finish(true); }, timeoutMs);
+            // Let the rest of the same render attach before collecting
+            watch.notify = function () {
+                watch.notify = null;
+                setTimeout(function () { finish(false); }, 0);
+            };
+            if (watch.added.length > 0) watch.notify();
+        });
+    },
+
+    /**
+     * Wait for the submission confirmation and extract the TECS ID in the same call.
+     * A MutationObserver re-checks once per batch of DOM changes, so extraction runs as soon
+     * as the confirmation renders. Resolves to the extractTecsId result plus waitedMs and timedOut;
+     * on timeout the page is still searched once.
+     */
+    awaitTecsId: function (timeoutMs) {
+        var started = Date.now();
+        var finish = function (timedOut) {
+            var result = extractTecsId();
+            result.waitedMs = Date.now() - started;
+            result.timedOut = timedOut;
+            return result;
+        };
+        if (confirmationShown()) return finish(false);
+        return new Promise(function (resolve) {
+            var pending = false;
+            var settled = false;
+            var done = function (timedOut) {
+                if (settled) return;
+                settled = true;
+                clearTimeout(timer);
+                observer.disconnect();
+                resolve(finish(timedOut));
+            };
+            var observer = new MutationObserver(function () {
+                // Coalesce bursts of mutations into one check
+                if (pending) return;
+                pending = true;
+                setTimeout(function () {
+                    pending = false;
+                    if (confirmationShown()) done(false);
+                }, 0);
+            });
+            var timer = setTimeout(function () { done(true); }, timeoutMs);
+            observer.observe(document.body, {childList: true, subtree: true, characterData: true});
+        });
+    },
+
+    /** Open a dropdown once it exists and pick an option once the panel has rendered. */
+    pickOption: function (target, choice, maxAttempts, pollMs) {
+        return openAndPick(function () { return locate(target, true); }, choice, maxAttempts, pollMs);
+    },
+
+    /**
+     * Fill a list of {name, target, value} and {name, target, choice} fields in order, resolving every
+     * target first. Each pick waits for its panel to close. Returns a map of field name to 'ok' or a reason.
+     */
+    fillSection: async function (fields, maxAttempts, pollMs) {
+        var elements = fields.map(function (f) { return locate(f.target, !!f.choice); });
+        var results = {};
+        for (var i = 0; i < fields.length; i++) {
+            var field = fields[i];
+            var element = elements[i];
+            try {
+                if (!element) {
+                    results[field.name] = 'not found';
+                } else if (field.choice) {
+                    results[field.name] = await openAndPick(function () { return element; }, field.choice, maxAttempts, pollMs);
+                    for (var closing = 0; closing < maxAttempts && overlayOpen(); closing++) await sleep(pollMs);
+                } else {
+                    setValue(element, field.value, true);
+                    results[field.name] = 'ok';
+                }
+            } catch (e) {
+                results[field.name] = 'error: ' + e.message;
+            }
+        }
+        return results;
+    }
+};
+return true;
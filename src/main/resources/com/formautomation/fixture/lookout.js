@@ -0,0 +1,105 @@
+/*
+ * Option and select ids match the ones FormFiller picks by id on the real site,
+ * including the height options mat-option-8 (3'0") to mat-option-67 (7'11").
+ */
+var heights = [];
+for (var feet = 3; feet <= 7; feet++) {
+    for (var inches = 0; inches < 12; inches++) heights.push(feet + "'" + inches + '"');
+}
+var states = ['AL', 'AK', 'AZ', 'AR', 'CA', 'CO', 'CT', 'DE', 'DC', 'FL', 'GA', 'HI', 'ID', 'IL', 'IN', 'IA',
+    'KS', 'KY', 'LA', 'ME', 'MD', 'MA', 'MI', 'MN', 'MS', 'MO', 'MT', 'NE', 'NV', 'NH', 'NJ', 'NM', 'NY', 'NC',
+    'ND', 'OH', 'OK', 'OR', 'PA', 'RI', 'SC', 'SD', 'TN', 'TX', 'UT', 'VT', 'VA', 'WA', 'WV', 'WI', 'WY', 'AS',
+    'GU', 'MP', 'PR', 'VI', 'UM', 'FM', 'MH', 'PW', 'AA', 'AE'];
+var countries = ['CAN - CANADA', 'FRA - FRANCE', 'MEX - MEXICO', 'USA - UNITED STATES'];
+
+var record = document.getElementById('record');
+record.appendChild(FX.select('Record Status', FX.range(68, ['OB - OUTBOUND SUBJECT', 'IB - INBOUND SUBJECT']), 'mat-select-4'));
+record.appendChild(FX.select('Query Notification', FX.range(237, ['1 - NOTIFY', '0 - NO NOTIFICATION']), 'mat-select-6'));
+record.appendChild(FX.select('Primary Action', FX.range(244, ['3 - REFER TO SECONDARY', '4 - REFER TO PASSPORT CONTROL']), 'mat-select-8'));
+record.appendChild(FX.date('Primary Start Date'));
+record.appendChild(FX.date('Primary End Date'));
+record.appendChild(FX.select('Category', FX.range(548, ['AA - AGRICULTURE', 'AB - AG/BIO COUNTERMEASURES']), 'mat-select-10'));
+var exclusions = FX.select('Exclusions', FX.range(252, ['NONE', 'ANCX - NIV EXEMPTION']), 'mat-select-12');
+record.appendChild(exclusions);
+// The exclusion site only exists once an exclusion was chosen
+exclusions.addEventListener('selectionChange', function () {
+    if (document.getElementById('mat-select-25')) return;
+    FX.later(function () {
+        exclusions.after(FX.select('Exclusion Site', FX.range(626, ['LON - LONDON', 'PRS - PARIS']), 'mat-select-25'));
+    });
+});
+record.appendChild(FX.textarea('Remarks', 3000));
+
+var physical = document.getElementById('physical');
+physical.appendChild(FX.select('Hispanic', FX.range(1, ['N - NO', 'Y - YES']), 'mat-select-0'));
+physical.appendChild(FX.select('Height', FX.range(8, heights), 'mat-select-2'));
+physical.appendChild(FX.input('Weight', {mask: '0*', maxlength: '4'}));
+
+// "Add ..." buttons, each rendering its controls after the fixture delay
+var sections = {
+    'Add Sex': function () { return [FX.select('Sex:', FX.options(['F - FEMALE', 'M - MALE', 'U - UNKNOWN']))]; },
+    'Add Race': function () { return [FX.select('Race:', FX.options(['A - ASIAN', 'B - BLACK', 'W - WHITE']))]; },
+    'Add Eye Color': function () { return [FX.select('Eye Color:', FX.options(['BG - BLUE/GREEN', 'BR - BROWN']))]; },
+    'Add Hair Color': function () { return [FX.select('Hair Color:', FX.options(['BA - BALD', 'BK - BLACK']))]; },
+    'Add Name': function () { return [FX.input('Last Name'), FX.input('First Name')]; },
+    'Add DOB': function () { return [FX.date('DOB')]; },
+    'Add Citizenship': function () { return [FX.select('Citizenship', FX.range(1259, ['CAN - CANADA', 'USA - UNITED STATES']))]; },
+    'Add Passport': function () {
+        return [FX.select('Passport Type', FX.options(['--', 'P - REGULAR', 'D - DIPLOMATIC'])),
+            FX.input('Passport Number'),
+            FX.select('Issuing Country', FX.options(['--'].concat(countries))),
+            FX.date('Issue Date'),
+            FX.date('Expiry Date')];
+    },
+    'Add A#': function () { return [FX.input('A#', {mask: '0*', maxlength: '9'})]; },
+    "Add Driver's License": function () {
+        return [FX.input('License Number'), FX.select('License State', FX.range(1774, states))];
+    },
+    'Add SSN': function () { return [FX.input('SSN', {mask: '000-00-0000'})]; },
+    'Add Misc Number': function () {
+        return [FX.select('Misc Type', FX.range(1885, ['FBI', 'FIN', 'SID', 'TSC', 'VISA'])), FX.input('Misc Number')];
+    },
+    'Add Phone Number': function () {
+        return [FX.select('Phone Type', FX.options(['HOME', 'MOBILE'])),
+            FX.select('Phone Country', FX.options(countries)),
+            FX.input('Phone #')];
+    },
+    'Add Alter Communication': function () {
+        return [FX.select('Communication Type', FX.options(['EMAIL', 'SOCIAL MEDIA'])), FX.input('Communication')];
+    },
+    'Add Address': function () {
+        return [FX.select('Type:', FX.options(['--', 'HOME', 'WORK'])),
+            FX.input('Street'),
+            FX.input('City'),
+            FX.select('State', FX.options(['--'].concat(states))),
+            FX.select('Country', FX.options(['--'].concat(countries))),
+            FX.input('Postal')];
+    },
+    'Add Financial Account': function () {
+        return [FX.input('Institution'), FX.input('Branch'), FX.input('Officer'), FX.input('Account Number'),
+            FX.input('Account Type'), FX.input('Financial ID'), FX.date('Opened')];
+    }
+};
+
+var buttons = document.getElementById('buttons');
+Object.keys(sections).forEach(function (text) {
+    var button = FX.element('button', {type: 'button'}, text);
+    button.addEventListener('click', function () {
+        FX.later(function () {
+            var section = FX.element('section', {});
+            section.appendChild(FX.element('h3', {}, text.substring(4)));
+            sections[text]().forEach(function (control) { section.appendChild(control); });
+            document.getElementById('sections').appendChild(section);
+        });
+    });
+    buttons.appendChild(button);
+});
+
+document.querySelector('.submit-button').addEventListener('click', function () {
+    fetch('/api/lookouts', {method: 'POST', headers: {'Content-Type': 'application/json'}, body: JSON.stringify(FX.values())})
+        .then(function (response) { return response.json(); })
+        .then(function (created) {
+            document.getElementById('result').appendChild(FX.element('div', {'class': 'tecs-submitted-message'},
+                'Lookout created successfully. TECS ID: ' + created.tecsId));
+        });
+});
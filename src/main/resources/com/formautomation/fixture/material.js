@@ -0,0 +1,128 @@
+/*
+ * Just enough of Angular Material's markup and behaviour for the form filler to work against:
+ * mat-form-field / mat-label / mat-select with a .mat-select-trigger, an overlay panel of mat-option
+ * elements that only exists while open, and plain mat-input-element inputs. Panels and added sections
+ * render after window.FIXTURE_RENDER_DELAY_MS, like the real site waiting on its backend.
+ */
+var FX = (function () {
+    var openSelect = null;
+
+    function later(action) {
+        setTimeout(action, window.FIXTURE_RENDER_DELAY_MS || 0);
+    }
+
+    function element(tag, attributes, text) {
+        var e = document.createElement(tag);
+        Object.keys(attributes || {}).forEach(function (name) { e.setAttribute(name, attributes[name]); });
+        if (text) e.textContent = text;
+        return e;
+    }
+
+    function formField(label, control) {
+        var field = element('mat-form-field', {'class': 'mat-form-field'});
+        if (label) field.appendChild(element('mat-label', {}, label));
+        field.appendChild(control);
+        return field;
+    }
+
+    function closePanel() {
+        var container = document.querySelector('.cdk-overlay-container');
+        if (container) container.remove();
+        if (openSelect) openSelect.setAttribute('aria-expanded', 'false');
+        openSelect = null;
+    }
+
+    function openPanel(select) {
+        closePanel();
+        openSelect = select;
+        select.setAttribute('aria-expanded', 'true');
+        later(function () {
+            if (openSelect !== select) return;
+            var container = element('div', {'class': 'cdk-overlay-container'});
+            var pane = element('div', {'class': 'cdk-overlay-pane'});
+            var panel = element('div', {'class': 'mat-select-panel', role: 'listbox'});
+            select.fixtureOptions.forEach(function (option) {
+                var o = element('mat-option', {id: 'mat-option-' + option[0], 'class': 'mat-option', role: 'option'}, option[1]);
+                o.addEventListener('click', function (event) {
+                    event.stopPropagation();
+                    select.querySelector('.mat-select-value').textContent = option[1];
+                    select.setAttribute('data-value', option[1]);
+                    closePanel();
+                    select.dispatchEvent(new Event('selectionChange', {bubbles: true}));
+                });
+                panel.appendChild(o);
+            });
+            pane.appendChild(panel);
+            container.appendChild(pane);
+            document.body.appendChild(container);
+        });
+    }
+
+    // Clicks outside the open panel and Escape close it, as the real backdrop does
+    document.addEventListener('click', closePanel);
+    document.addEventListener('keydown', function (event) {
+        if (event.key === 'Escape') closePanel();
+    });
+
+    var nextDynamicSelect = 100;
+    var nextDynamicOption = 5000;
+
+    return {
+        later: later,
+        element: element,
+
+        /** Options numbered from first, e.g. range(1774, ['AL', 'AK']) */
+        range: function (first, texts) {
+            return texts.map(function (text, i) { return [first + i, text]; });
+        },
+
+        /** Options numbered from a counter that never collides with the fixed ids the filler uses */
+        options: function (texts) {
+            return texts.map(function (text) { return [nextDynamicOption++, text]; });
+        },
+
+        /** mat-select inside a form field; id defaults to the next free mat-select-N */
+        select: function (label, options, id) {
+            var select = element('mat-select', {id: id || 'mat-select-' + nextDynamicSelect++, 'class': 'mat-select',
+                role: 'combobox', 'aria-expanded': 'false'});
+            var trigger = element('div', {'class': 'mat-select-trigger'});
+            trigger.appendChild(element('span', {'class': 'mat-select-value'}, '--'));
+            trigger.appendChild(element('span', {'class': 'mat-select-arrow'}, '▾'));
+            select.appendChild(trigger);
+            select.fixtureOptions = options;
+            select.addEventListener('click', function (event) {
+                event.stopPropagation();
+                openPanel(select);
+            });
+            return formField(label, select);
+        },
+
+        /** Text input inside a form field, with extra attributes such as mask or maxlength */
+        input: function (label, attributes) {
+            var input = element('input', {'class': 'mat-input-element', type: 'text'});
+            Object.keys(attributes || {}).forEach(function (name) { input.setAttribute(name, attributes[name]); });
+            return formField(label, input);
+        },
+
+        date: function (label) {
+            return this.input(label, {mask: '00/00/0000', placeholder: 'MM/DD/YYYY'});
+        },
+
+        textarea: function (label, maxlength) {
+            return formField(label, element('textarea', {'class': 'mat-input-element', maxlength: String(maxlength)}));
+        },
+
+        /** Values of every control, keyed by label, for the create request */
+        values: function () {
+            var values = {};
+            Array.prototype.forEach.call(document.querySelectorAll('mat-form-field'), function (field, i) {
+                var label = field.querySelector('mat-label');
+                var key = (label ? label.textContent : 'field') + ' #' + i;
+                var select = field.querySelector('mat-select');
+                var input = field.querySelector('input, textarea');
+                values[key] = select ? select.getAttribute('data-value') : input ? input.value : null;
+            });
+            return values;
+        }
+    };
+})();
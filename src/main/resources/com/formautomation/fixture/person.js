@@ -0,0 +1,20 @@
+document.getElementById('login-kerberos-btn').addEventListener('click', function () {
+    FX.later(function () {
+        document.getElementById('login').hidden = true;
+        document.getElementById('search').hidden = false;
+    });
+});
+
+document.getElementById('search-btn').addEventListener('click', function () {
+    var name = document.getElementById('lastName').value + ', ' + document.getElementById('firstName').value;
+    fetch('/api/search', {method: 'POST', body: name}).then(function () {
+        var results = document.getElementById('results');
+        results.textContent = '';
+        results.appendChild(FX.element('p', {}, 'No records found for ' + name));
+        var create = FX.element('button', {type: 'button'}, 'Create TECS Lookout');
+        create.addEventListener('click', function () {
+            window.open('/lookout', '_blank');
+        });
+        results.appendChild(create);
+    });
+});
@@ -0,0 +1,110 @@
+package com.formautomation;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the CircuitBreaker state transitions
+ */
+public class CircuitBreakerTest extends TestCase {
+
+    private static final long COOLDOWN_MS = 100;
+
+    private CircuitBreaker breaker;
+
+    @Override
+    protected void setUp() {
+        breaker = new CircuitBreaker(4, 0.5, COOLDOWN_MS);
+    }
+
+    public void testStaysClosedUntilTheWindowIsFull() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordResult(breaker.awaitPermission(), false);
+        }
+        assertEquals(0, breaker.getTrips());
+    }
+
+    public void testStaysClosedBelowTheFailureRate() throws InterruptedException {
+        for (int i = 0; i < 20; i++) {
+            breaker.recordResult(breaker.awaitPermission(), i % 4 != 0);
+        }
+        assertEquals(0, breaker.getTrips());
+    }
+
+    public void testOpensAtTheFailureRateAndPausesForTheCooldown() throws InterruptedException {
+        trip();
+        assertEquals(1, breaker.getTrips());
+
+        long start = System.currentTimeMillis();
+        breaker.awaitPermission();
+        assertTrue(System.currentTimeMillis() - start >= COOLDOWN_MS / 2);
+    }
+
+    public void testSuccessfulTrialCloses() throws InterruptedException {
+        trip();
+        breaker.recordResult(breaker.awaitPermission(), true);
+
+        long start = System.currentTimeMillis();
+        breaker.awaitPermission();
+        assertTrue(System.currentTimeMillis() - start < COOLDOWN_MS / 2);
+        assertEquals(1, breaker.getTrips());
+    }
+
+    public void testFailedTrialReopens() throws InterruptedException {
+        trip();
+        breaker.recordResult(breaker.awaitPermission(), false);
+        assertEquals(2, breaker.getTrips());
+    }
+
+    public void testOnlyOneTrialWhileHalfOpen() throws InterruptedException {
+        trip();
+        long trial = breaker.awaitPermission();
+
+        Thread second = new Thread(() -> {
+            try {
+                breaker.awaitPermission();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        second.setDaemon(true);
+        second.start();
+        second.join(COOLDOWN_MS * 2);
+        assertTrue("a second run started while the trial was in flight", second.isAlive());
+
+        breaker.recordResult(trial, true);
+        second.join(COOLDOWN_MS * 10);
+        assertFalse(second.isAlive());
+    }
+
+    public void testRunsStartedBeforeTheTripDoNotDecideTheTrial() throws InterruptedException {
+        long inFlight = breaker.awaitPermission();
+        trip();
+        long trial = breaker.awaitPermission();
+
+        breaker.recordResult(inFlight, false);
+        assertEquals(1, breaker.getTrips());
+
+        breaker.recordResult(trial, true);
+        assertEquals(1, breaker.getTrips());
+    }
+
+    public void testRunsStartedBeforeTheBreakerClosedAreIgnored() throws InterruptedException {
+        long[] inFlight = new long[4];
+        for (int i = 0; i < inFlight.length; i++) {
+            inFlight[i] = breaker.awaitPermission();
+        }
+        trip();
+        breaker.recordResult(breaker.awaitPermission(), true);
+
+        for (long permit : inFlight) {
+            breaker.recordResult(permit, false);
+        }
+        assertEquals(1, breaker.getTrips());
+    }
+
+    private void trip() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            breaker.recordResult(breaker.awaitPermission(), false);
+        }
+    }
+}
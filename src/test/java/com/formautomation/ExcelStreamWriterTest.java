@@ -0,0 +1,151 @@
+package com.formautomation;
+
+import junit.framework.TestCase;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Round-trip tests for ExcelStreamWriter: rows written through the stream are read back with XSSF
+ */
+public class ExcelStreamWriterTest extends TestCase {
+
+    private static final String[] HEADERS = {"tecsId", "firstName"};
+    private static final int WINDOW_ROWS = 5; // Small, so most rows are flushed out of memory
+
+    private File file;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = new File(Files.createTempDirectory("excel-stream").toFile(), "form_data.xlsx");
+    }
+
+    @Override
+    protected void tearDown() {
+        file.delete();
+        file.getParentFile().delete();
+    }
+
+    public void testRowsFinishedOutOfOrderAreWrittenInPlace() throws IOException {
+        ExcelStreamWriter writer = new ExcelStreamWriter(file, "Form Data", HEADERS, WINDOW_ROWS, false);
+        writer.open();
+        for (int row = 1; row <= 50; row++) {
+            assertEquals(row, writer.append(new String[]{"PENDING", "Name" + row}));
+        }
+        // Finish from the last row back, so nothing drains until row 1 is final
+        for (int row = 50; row >= 1; row--) {
+            if (row % 10 == 0) {
+                writer.release(row);
+            } else {
+                assertTrue(writer.update(row, new String[]{"T" + row, "Name" + row}));
+            }
+        }
+        assertFalse("row 1 is already final", writer.update(1, new String[]{"again", "Name1"}));
+        writer.close();
+
+        try (XSSFWorkbook workbook = read()) {
+            XSSFSheet sheet = workbook.getSheet("Form Data");
+            assertEquals("tecsId", cell(sheet, 0, 0));
+            assertEquals(50, sheet.getLastRowNum());
+            for (int row = 1; row <= 50; row++) {
+                assertEquals(row % 10 == 0 ? "PENDING" : "T" + row, cell(sheet, row, 0));
+                assertEquals("Name" + row, cell(sheet, row, 1));
+            }
+        }
+    }
+
+    public void testOpenRowsAreWrittenAsTheyAreOnClose() throws IOException {
+        ExcelStreamWriter writer = new ExcelStreamWriter(file, "Form Data", HEADERS, WINDOW_ROWS, false);
+        writer.open();
+        writer.append(new String[]{"PENDING", "Open"});
+        writer.append(new String[]{"PENDING", "Done"});
+        writer.update(2, new String[]{"T2", "Done"});
+        writer.close();
+
+        try (XSSFWorkbook workbook = read()) {
+            XSSFSheet sheet = workbook.getSheet("Form Data");
+            assertEquals("PENDING", cell(sheet, 1, 0));
+            assertEquals("T2", cell(sheet, 2, 0));
+        }
+    }
+
+    public void testRowsOfAResumedBatchKeepTheirNumbers() throws IOException {
+        ExcelStreamWriter writer = new ExcelStreamWriter(file, "Form Data", HEADERS, WINDOW_ROWS, false);
+        writer.open();
+        writer.put(2, new String[]{"T2", "Recorded"}, true);
+        writer.put(4, new String[]{"PENDING", "Resumed"}, false);
+        try {
+            writer.put(3, new String[]{"PENDING", "Late"}, false);
+            fail("a row before the next free row was accepted");
+        } catch (IllegalArgumentException e) {
+            // Rows can only be added in order
+        }
+        assertEquals(5, writer.append(new String[]{"PENDING", "New"}));
+        writer.update(4, new String[]{"T4", "Resumed"});
+        writer.close();
+
+        try (XSSFWorkbook workbook = read()) {
+            XSSFSheet sheet = workbook.getSheet("Form Data");
+            assertNull(sheet.getRow(1));
+            assertEquals("T2", cell(sheet, 2, 0));
+            assertNull(sheet.getRow(3));
+            assertEquals("T4", cell(sheet, 4, 0));
+            assertEquals("New", cell(sheet, 5, 1));
+        }
+    }
+
+    public void testSnapshotWritesTheRowsSoFarAndTheStreamCarriesOn() throws IOException {
+        ExcelStreamWriter writer = new ExcelStreamWriter(file, "Form Data", HEADERS, WINDOW_ROWS, true);
+        writer.open();
+        for (int row = 1; row <= 20; row++) {
+            writer.append(new String[]{"PENDING", "Name" + row});
+            if (row != 15) {
+                writer.update(row, new String[]{"T" + row, "Name" + row});
+            }
+        }
+        writer.snapshot();
+
+        try (XSSFWorkbook workbook = read()) {
+            XSSFSheet sheet = workbook.getSheet("Form Data");
+            assertEquals(20, sheet.getLastRowNum());
+            assertEquals("T14", cell(sheet, 14, 0));
+            assertEquals("PENDING", cell(sheet, 15, 0));
+            assertEquals("Name20", cell(sheet, 20, 1));
+        }
+
+        writer.update(15, new String[]{"T15", "Name15"});
+        writer.append(new String[]{"PENDING", "Name21"});
+        writer.close();
+
+        try (XSSFWorkbook workbook = read()) {
+            XSSFSheet sheet = workbook.getSheet("Form Data");
+            assertEquals(21, sheet.getLastRowNum());
+            assertEquals("T15", cell(sheet, 15, 0));
+            assertEquals("PENDING", cell(sheet, 21, 0));
+        }
+    }
+
+    public void testSnapshotIsOffUnlessEnabled() throws IOException {
+        ExcelStreamWriter writer = new ExcelStreamWriter(file, "Form Data", HEADERS, WINDOW_ROWS, false);
+        writer.open();
+        writer.append(new String[]{"PENDING", "Name1"});
+        writer.snapshot();
+        assertFalse(file.exists());
+        writer.close();
+        assertTrue(file.exists());
+    }
+
+    private XSSFWorkbook read() throws IOException {
+        try (FileInputStream inputStream = new FileInputStream(file)) {
+            return new XSSFWorkbook(inputStream);
+        }
+    }
+
+    private static String cell(XSSFSheet sheet, int row, int column) {
+        return sheet.getRow(row).getCell(column).getStringCellValue();
+    }
+}
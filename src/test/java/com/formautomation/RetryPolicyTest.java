@@ -0,0 +1,46 @@
+package com.formautomation;
+
+import junit.framework.TestCase;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the RetryPolicy backoff and attempt counting, with the default 250ms base and 4s cap
+ */
+public class RetryPolicyTest extends TestCase {
+
+    public void testBackoffStaysWithinTheJitterRange() {
+        for (int i = 0; i < 1000; i++) {
+            assertBetween(125, 250, RetryPolicy.backoffDelay(1));
+            assertBetween(250, 500, RetryPolicy.backoffDelay(2));
+            assertBetween(500, 1000, RetryPolicy.backoffDelay(3));
+        }
+    }
+
+    public void testBackoffIsCappedAtTheMaximumDelay() {
+        for (int attempt = 5; attempt <= 100; attempt++) {
+            assertBetween(2000, 4000, RetryPolicy.backoffDelay(attempt));
+        }
+    }
+
+    public void testStopsAtTheFirstSuccess() {
+        RetryPolicy.setStepAttempts("Retry test success", 3);
+        AtomicInteger calls = new AtomicInteger();
+        assertTrue(RetryPolicy.attempt("Retry test success", () -> calls.incrementAndGet() == 2));
+        assertEquals(2, calls.get());
+    }
+
+    public void testGivesUpAfterTheStepsAttempts() {
+        RetryPolicy.setStepAttempts("Retry test failure", 2);
+        AtomicInteger calls = new AtomicInteger();
+        assertFalse(RetryPolicy.attempt("Retry test failure", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("still failing");
+        }));
+        assertEquals(2, calls.get());
+    }
+
+    private static void assertBetween(long min, long max, long delay) {
+        assertTrue(delay + " ms is outside " + min + "-" + max + " ms", delay >= min && delay <= max);
+    }
+}
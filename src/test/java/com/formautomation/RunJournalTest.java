@@ -0,0 +1,151 @@
+package com.formautomation;
+
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Unit tests for RunJournal.recover
+ */
+public class RunJournalTest extends TestCase {
+
+    private File file;
+
+    @Override
+    protected void setUp() throws IOException {
+        file = File.createTempFile("run-journal", ".log");
+    }
+
+    @Override
+    protected void tearDown() {
+        file.delete();
+    }
+
+    public void testMissingJournalRecoversNothing() {
+        file.delete();
+        assertTrue(new RunJournal(file).recover().isEmpty());
+    }
+
+    public void testRecoversLatestStateOfEveryRun() throws IOException {
+        RunJournal journal = new RunJournal(file);
+        journal.open(true, 3);
+        RunContext recorded = run(1, 1);
+        journal.append(recorded, RunJournal.State.GENERATED);
+        journal.append(recorded, RunJournal.State.PERSISTED);
+        journal.append(recorded, RunJournal.State.SUBMITTED);
+        recorded.getPersonData().setTecsId("P3G12345678AB");
+        journal.append(recorded, RunJournal.State.TECS_CAPTURED);
+        journal.append(recorded, RunJournal.State.RECORDED);
+        RunContext persisted = run(2, 2);
+        journal.append(persisted, RunJournal.State.GENERATED);
+        journal.append(persisted, RunJournal.State.PERSISTED);
+        RunContext generated = run(3, -1);
+        journal.append(generated, RunJournal.State.GENERATED);
+        journal.close();
+
+        Map<Integer, RunJournal.RecoveredRun> runs = new RunJournal(file).recover();
+        assertEquals(3, runs.size());
+
+        assertEquals(RunJournal.State.RECORDED, runs.get(1).getState());
+        RunContext first = runs.get(1).toRunContext();
+        assertEquals(1, first.getRowNumber());
+        assertTrue(first.isSubmitted());
+        assertEquals("P3G12345678AB", first.getPersonData().getTecsId());
+        assertEquals("First1", first.getPersonData().getFirstName());
+
+        assertEquals(RunJournal.State.PERSISTED, runs.get(2).getState());
+        RunContext second = runs.get(2).toRunContext();
+        assertEquals(2, second.getRowNumber());
+        assertFalse(second.isSubmitted());
+
+        assertEquals(RunJournal.State.GENERATED, runs.get(3).getState());
+        assertEquals(-1, runs.get(3).toRunContext().getRowNumber());
+    }
+
+    public void testValuesWithTabsAndNewlinesSurvive() throws IOException {
+        RunJournal journal = new RunJournal(file);
+        journal.open(true, 1);
+        RunContext run = run(1, -1);
+        run.getPersonData().setLastName("O'Neil\tJr\\\nSr");
+        journal.append(run, RunJournal.State.GENERATED);
+        journal.close();
+
+        PersonData data = new RunJournal(file).recover().get(1).toRunContext().getPersonData();
+        assertEquals("O'Neil\tJr\\\nSr", data.getLastName());
+        assertEquals("First1", data.getFirstName());
+    }
+
+    public void testTornAndUnknownEntriesAreSkipped() throws IOException {
+        RunJournal journal = new RunJournal(file);
+        journal.open(true, 1);
+        RunContext run = run(1, 4);
+        journal.append(run, RunJournal.State.GENERATED);
+        journal.append(run, RunJournal.State.PERSISTED);
+        journal.close();
+        append("1\tSUBMIT\n1\tPERSISTED\n1\tRECOR");
+
+        Map<Integer, RunJournal.RecoveredRun> runs = new RunJournal(file).recover();
+        assertEquals(RunJournal.State.PERSISTED, runs.get(1).getState());
+        assertEquals(4, runs.get(1).toRunContext().getRowNumber());
+    }
+
+    public void testCompletedBatchRecoversNothing() throws IOException {
+        RunJournal journal = new RunJournal(file);
+        journal.open(true, 1);
+        RunContext run = run(1, 1);
+        journal.append(run, RunJournal.State.GENERATED);
+        journal.append(run, RunJournal.State.FAILED);
+        journal.markBatchComplete();
+        journal.close();
+
+        assertTrue(new RunJournal(file).recover().isEmpty());
+    }
+
+    public void testResumedBatchKeepsEarlierEntries() throws IOException {
+        RunJournal journal = new RunJournal(file);
+        journal.open(true, 2);
+        RunContext first = run(1, 1);
+        journal.append(first, RunJournal.State.GENERATED);
+        journal.append(first, RunJournal.State.PERSISTED);
+        journal.close();
+
+        RunJournal resumed = new RunJournal(file);
+        resumed.open(false, 2);
+        resumed.append(first, RunJournal.State.FAILED);
+        resumed.append(run(2, -1), RunJournal.State.GENERATED);
+        resumed.close();
+
+        Map<Integer, RunJournal.RecoveredRun> runs = new RunJournal(file).recover();
+        assertEquals(RunJournal.State.FAILED, runs.get(1).getState());
+        assertEquals(1, runs.get(1).toRunContext().getRowNumber());
+        assertEquals(RunJournal.State.GENERATED, runs.get(2).getState());
+    }
+
+    private static RunContext run(int runNumber, int rowNumber) {
+        PersonData data = new PersonData();
+        data.setFirstName("First" + runNumber);
+        data.setLastName("Last" + runNumber);
+        data.setDob("01/01/1990");
+        data.setPassportNumber("P" + runNumber);
+        data.setPassportIssueDate("01/01/2020");
+        data.setPassportExpiryDate("01/01/2030");
+        data.setDriverLicense("D" + runNumber);
+        data.setSsn("123-45-678" + runNumber);
+        data.setaNumber("A" + runNumber);
+        data.setHeight("5'10\"");
+        data.setWeight("180");
+        RunContext run = new RunContext(runNumber);
+        run.setPersonData(data);
+        run.setRowNumber(rowNumber);
+        return run;
+    }
+
+    private void append(String text) throws IOException {
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,62 @@
+package com.formautomation;
+
+import junit.framework.TestCase;
+
+/**
+ * Unit tests for the StepLatencyTracker timeout calibration. Each test uses its own step names,
+ * since the tracker is shared by the whole JVM.
+ */
+public class StepLatencyTrackerTest extends TestCase {
+
+    public void testUncalibratedUntilEnoughSamples() {
+        for (int i = 0; i < 9; i++) {
+            StepLatencyTracker.record("Uncalibrated step", 500);
+        }
+        assertNull(StepLatencyTracker.calibratedTimeout("Uncalibrated step"));
+        StepLatencyTracker.record("Uncalibrated step", 500);
+        assertEquals(1000, StepLatencyTracker.calibratedTimeout("Uncalibrated step").toMillis());
+    }
+
+    public void testTimeoutsAreCountedButNotSampled() {
+        record("Counted step", 20, 500);
+        StepLatencyTracker.recordTimeout("Counted step");
+        assertEquals(1, StepLatencyTracker.timeoutCount("Counted step"));
+        assertEquals(20, StepLatencyTracker.sampleCount("Counted step"));
+        assertEquals(500, StepLatencyTracker.percentile("Counted step", 99));
+    }
+
+    public void testFrequentTimeoutsWidenTheTimeoutUntilTheCeiling() {
+        record("Slow site step", 20, 500);
+        StepLatencyTracker.recordTimeout("Slow site step");
+        StepLatencyTracker.recordTimeout("Slow site step");
+        assertEquals("an occasional timeout changes nothing",
+                1000, StepLatencyTracker.calibratedTimeout("Slow site step").toMillis());
+
+        StepLatencyTracker.recordTimeout("Slow site step");
+        assertEquals(2000, StepLatencyTracker.calibratedTimeout("Slow site step").toMillis());
+        StepLatencyTracker.recordTimeout("Slow site step");
+        assertEquals(4000, StepLatencyTracker.calibratedTimeout("Slow site step").toMillis());
+
+        for (int i = 0; i < 10; i++) {
+            StepLatencyTracker.recordTimeout("Slow site step");
+        }
+        assertEquals(60000, StepLatencyTracker.calibratedTimeout("Slow site step").toMillis());
+    }
+
+    public void testTimeoutNarrowsAgainOnceWaitsSucceed() {
+        record("Recovered step", 20, 500);
+        for (int i = 0; i < 5; i++) {
+            StepLatencyTracker.recordTimeout("Recovered step");
+        }
+        assertTrue(StepLatencyTracker.calibratedTimeout("Recovered step").toMillis() > 1000);
+
+        record("Recovered step", 20, 500);
+        assertEquals(1000, StepLatencyTracker.calibratedTimeout("Recovered step").toMillis());
+    }
+
+    private static void record(String step, int samples, long millis) {
+        for (int i = 0; i < samples; i++) {
+            StepLatencyTracker.record(step, millis);
+        }
+    }
+}